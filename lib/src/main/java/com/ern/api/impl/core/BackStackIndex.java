@@ -0,0 +1,200 @@
+package com.ern.api.impl.core;
+
+import android.content.Context;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+import androidx.fragment.app.FragmentManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Index of the fragments added to a {@link FragmentManager}, kept up to date from the fragment lifecycle callbacks.
+ * <p>
+ * Answers the top of the stack, the top route handler and the fragment for a tag without walking {@link FragmentManager#getFragments()}.
+ * A route handler is a fragment that is an instance of a type added by {@link #addRouteHandlerType(Class)}.
+ */
+@MainThread
+public final class BackStackIndex extends FragmentManager.FragmentLifecycleCallbacks {
+
+    private static final Map<FragmentManager, BackStackIndex> sIndexes = new WeakHashMap<>();
+    private static final List<Class<?>> sRouteHandlerTypes = new CopyOnWriteArrayList<>();
+
+    // Fragments in the order they were attached, the last one is the top of the stack.
+    private final List<Fragment> mFragments = new ArrayList<>();
+    private final List<Fragment> mRouteHandlers = new ArrayList<>();
+    private final Map<Fragment, Long> mAttachOrder = new HashMap<>();
+    private long mAttachCount;
+    private final Map<String, Fragment> mFragmentsByTag = new HashMap<>();
+
+    /**
+     * Returns the index of the given fragment manager, the index is created and registered on first use.
+     *
+     * @param fragmentManager {@link FragmentManager}
+     * @return BackStackIndex
+     */
+    @NonNull
+    public static BackStackIndex of(@NonNull FragmentManager fragmentManager) {
+        BackStackIndex index = sIndexes.get(fragmentManager);
+        if (index == null) {
+            index = new BackStackIndex();
+            index.seed(fragmentManager);
+            fragmentManager.registerFragmentLifecycleCallbacks(index, false);
+            sIndexes.put(fragmentManager, index);
+        }
+        return index;
+    }
+
+    /**
+     * Any fragment that is an instance of the given type is considered a route handler by all the indexes.
+     *
+     * @param type Class or interface implemented by the route handler fragments.
+     */
+    public static void addRouteHandlerType(@NonNull Class<?> type) {
+        if (!sRouteHandlerTypes.contains(type)) {
+            sRouteHandlerTypes.add(type);
+            for (BackStackIndex index : sIndexes.values()) {
+                index.indexRouteHandlers();
+            }
+        }
+    }
+
+    private BackStackIndex() {
+    }
+
+    /**
+     * @return The last added fragment or null if the stack is empty.
+     */
+    @Nullable
+    public Fragment getTopFragment() {
+        return mFragments.isEmpty() ? null : mFragments.get(mFragments.size() - 1);
+    }
+
+    /**
+     * @return The last added route handler fragment or null if there is none.
+     */
+    @Nullable
+    public Fragment getTopRouteHandler() {
+        return mRouteHandlers.isEmpty() ? null : mRouteHandlers.get(mRouteHandlers.size() - 1);
+    }
+
+    /**
+     * @param fragment Fragment that is considered a route handler for this lookup only.
+     * @return The given fragment if it was added after the top route handler, the top route handler otherwise.
+     */
+    @Nullable
+    public Fragment getTopRouteHandler(@NonNull Fragment fragment) {
+        Fragment topRouteHandler = getTopRouteHandler();
+        Long order = mAttachOrder.get(fragment);
+        if (order == null) {
+            return topRouteHandler;
+        }
+        return topRouteHandler == null || order > mAttachOrder.get(topRouteHandler) ? fragment : topRouteHandler;
+    }
+
+    /**
+     * @param tag Fragment tag
+     * @return The added fragment with the given tag or null if there is none.
+     */
+    @Nullable
+    public Fragment findFragmentByTag(@Nullable String tag) {
+        return tag != null ? mFragmentsByTag.get(tag) : null;
+    }
+
+    @Override
+    public void onFragmentAttached(@NonNull FragmentManager fm, @NonNull Fragment f, @NonNull Context context) {
+        add(f);
+    }
+
+    @Override
+    public void onFragmentDetached(@NonNull FragmentManager fm, @NonNull Fragment f) {
+        if (mAttachOrder.remove(f) == null) {
+            return;
+        }
+        remove(mFragments, f);
+        remove(mRouteHandlers, f);
+        String tag = f.getTag();
+        if (tag != null && mFragmentsByTag.get(tag) == f) {
+            mFragmentsByTag.remove(tag);
+            // Another fragment added with the same tag becomes the one found by the tag.
+            for (int i = mFragments.size() - 1; i >= 0; i--) {
+                if (tag.equals(mFragments.get(i).getTag())) {
+                    mFragmentsByTag.put(tag, mFragments.get(i));
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Indexes the fragments the manager already has, for example after a configuration change or a process restore.
+     * {@link FragmentManager#getFragments()} only lists the added fragments, the fragments of the back stack entries that are not added are looked up by the entry name.
+     * Fragments that are not part of the back stack are the bottom of the stack, the back stack entries follow in order.
+     */
+    private void seed(@NonNull FragmentManager fragmentManager) {
+        List<Fragment> backStack = new ArrayList<>();
+        for (int i = 0; i < fragmentManager.getBackStackEntryCount(); i++) {
+            Fragment fragment = fragmentManager.findFragmentByTag(fragmentManager.getBackStackEntryAt(i).getName());
+            if (fragment != null && !backStack.contains(fragment)) {
+                backStack.add(fragment);
+            }
+        }
+        for (Fragment fragment : fragmentManager.getFragments()) {
+            if (!backStack.contains(fragment)) {
+                add(fragment);
+            }
+        }
+        for (Fragment fragment : backStack) {
+            add(fragment);
+        }
+    }
+
+    private void add(@NonNull Fragment fragment) {
+        if (mAttachOrder.containsKey(fragment)) {
+            return;
+        }
+        mAttachOrder.put(fragment, mAttachCount++);
+        mFragments.add(fragment);
+        if (isRouteHandler(fragment)) {
+            mRouteHandlers.add(fragment);
+        }
+        if (fragment.getTag() != null) {
+            mFragmentsByTag.put(fragment.getTag(), fragment);
+        }
+    }
+
+    private void indexRouteHandlers() {
+        mRouteHandlers.clear();
+        for (Fragment fragment : mFragments) {
+            if (isRouteHandler(fragment)) {
+                mRouteHandlers.add(fragment);
+            }
+        }
+    }
+
+    private boolean isRouteHandler(@NonNull Fragment fragment) {
+        for (Class<?> type : sRouteHandlerTypes) {
+            if (type.isInstance(fragment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Removes by identity, fragments are usually removed from the top so the list is searched backwards.
+    private static void remove(@NonNull List<Fragment> fragments, @NonNull Fragment fragment) {
+        for (int i = fragments.size() - 1; i >= 0; i--) {
+            if (fragments.get(i) == fragment) {
+                fragments.remove(i);
+                return;
+            }
+        }
+    }
+}
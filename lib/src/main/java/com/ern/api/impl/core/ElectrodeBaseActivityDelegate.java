@@ -19,8 +19,6 @@ import com.ern.api.impl.util.AnimUtil;
 import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
 import com.walmartlabs.ern.container.ElectrodeReactActivityDelegate;
 
-import java.util.List;
-
 import static com.ern.api.impl.core.ActivityDelegateConstants.KEY_REGISTER_NAV_VIEW_MODEL;
 import static com.ern.api.impl.core.ElectrodeReactFragmentDelegate.MiniAppRequestListener.ADD_TO_BACKSTACK;
 import static com.ern.api.impl.core.LaunchConfig.NONE;
@@ -54,6 +52,10 @@ public class ElectrodeBaseActivityDelegate<T extends LaunchConfig> extends Elect
     @Override
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        // Registered before any fragment is added so that the index follows the whole back stack.
+        BackStackIndex.of(mFragmentActivity.getSupportFragmentManager());
+        // Installed without a budget too, so that the parked views can be un-mounted under memory pressure.
+        LiveRootViewBudget.install(mFragmentActivity, mDefaultLaunchConfig.mLiveRootViewBudget != NONE ? mDefaultLaunchConfig.mLiveRootViewBudget : Integer.MAX_VALUE);
         if (savedInstanceState == null && mDefaultLaunchConfig.mStartRootInOnCreate) {
             launchRootComponent();
         }
@@ -240,6 +242,7 @@ public class ElectrodeBaseActivityDelegate<T extends LaunchConfig> extends Elect
     public boolean switchBackToFragment(@Nullable String tag, @Nullable Bundle data) {
         Logger.d(TAG, "switchBackToFragment, tag:  %s", tag);
         final FragmentManager manager = mFragmentActivity.getSupportFragmentManager();
+        final BackStackIndex backStackIndex = BackStackIndex.of(manager);
         int backStackCount = manager.getBackStackEntryCount();
         if (backStackCount == 1) {
             if (tag == null || tag.equals(manager.getBackStackEntryAt(0).getName())) {
@@ -256,7 +259,7 @@ public class ElectrodeBaseActivityDelegate<T extends LaunchConfig> extends Elect
             // This error occurs when a navigation live data event gets triggered before the current fragment comes into Resumed state.
             // For this use case we need to perform popBackStack asynchronously.
             if (tag != null) {
-                result = manager.findFragmentByTag(tag) != null;
+                result = backStackIndex.findFragmentByTag(tag) != null;
             }
             //If there is no tag provided assume that the user is trying to go back to the previous screen
             if (result) {
@@ -264,12 +267,9 @@ public class ElectrodeBaseActivityDelegate<T extends LaunchConfig> extends Elect
             }
         }
         if (result && data != null && data.getBoolean("refresh", true)) {
-            List<Fragment> fragments = mFragmentActivity.getSupportFragmentManager().getFragments();
-            if (fragments.size() > 0) {
-                Fragment currentFragment = fragments.get(fragments.size() - 1);
-                if (currentFragment instanceof UpdatePropsListener) {
-                    ((UpdatePropsListener) currentFragment).refresh(data);
-                }
+            Fragment currentFragment = backStackIndex.getTopFragment();
+            if (currentFragment instanceof UpdatePropsListener) {
+                ((UpdatePropsListener) currentFragment).refresh(data);
             }
         }
         return result;
@@ -1,6 +1,9 @@
 package com.ern.api.impl.core;
 
 import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.BitmapDrawable;
 import android.os.Bundle;
 import android.text.TextUtils;
 import android.view.KeyEvent;
@@ -46,6 +49,28 @@ public class ElectrodeBaseFragmentDelegate<T extends ElectrodeBaseFragmentDelega
 
     private ViewGroup previousParent;
 
+    // Snapshot of the react root view taken when it was un-mounted to honor the live root view budget.
+    @Nullable
+    private Bitmap mRootViewSnapshot;
+
+    private final LiveRootViewBudget.Entry mBudgetEntry = new LiveRootViewBudget.Entry() {
+        @Override
+        public void unmountRootView(boolean keepSnapshot) {
+            ElectrodeBaseFragmentDelegate.this.unmountRootView(keepSnapshot);
+        }
+
+        @Override
+        public void dropSnapshot() {
+            mRootViewSnapshot = null;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return ElectrodeBaseFragmentDelegate.this.toString();
+        }
+    };
+
     @SuppressWarnings("unused")
     public ElectrodeBaseFragmentDelegate(@NonNull Fragment fragment) {
         this(fragment, null);
@@ -102,6 +127,11 @@ public class ElectrodeBaseFragmentDelegate<T extends ElectrodeBaseFragmentDelega
         if (mMiniAppView == null) {
             if (isValidMiniAppName(mMiniAppComponentName)) {
                 mMiniAppView = electrodeActivityListener.createReactNativeView(mMiniAppComponentName, initialProps(savedInstanceState != null));
+                if (mRootViewSnapshot != null) {
+                    Logger.d(TAG, "Re-mounted react root view of: %s", mMiniAppComponentName);
+                    showSnapshotUntilRendered(mMiniAppView, mRootViewSnapshot);
+                    mRootViewSnapshot = null;
+                }
             } else {
                 Logger.i(TAG, "Missing miniAppComponentName inside arguments, will not create a MiniApp view.");
             }
@@ -136,6 +166,10 @@ public class ElectrodeBaseFragmentDelegate<T extends ElectrodeBaseFragmentDelega
             rootView = mMiniAppView;
         }
 
+        LiveRootViewBudget budget = LiveRootViewBudget.get(mFragment.getActivity());
+        if (budget != null && mMiniAppView instanceof ReactRootView) {
+            budget.onShown(mBudgetEntry);
+        }
         return rootView;
     }
 
@@ -248,6 +282,61 @@ public class ElectrodeBaseFragmentDelegate<T extends ElectrodeBaseFragmentDelega
     public void onDestroyView() {
         Logger.v(TAG, "onDestroyView(): " + getReactComponentName());
         storeOldParent();
+        LiveRootViewBudget budget = LiveRootViewBudget.get(mFragment.getActivity());
+        if (budget != null && mMiniAppView instanceof ReactRootView) {
+            budget.onParked(mBudgetEntry);
+        }
+    }
+
+    private void unmountRootView(boolean keepSnapshot) {
+        if (!(mMiniAppView instanceof ReactRootView)) {
+            return;
+        }
+        ReactRootView reactRootView = (ReactRootView) mMiniAppView;
+        mRootViewSnapshot = keepSnapshot ? snapshot(reactRootView) : null;
+        if (previousParent != null && reactRootView.getParent() == previousParent) {
+            previousParent.removeView(reactRootView);
+        }
+        previousParent = null;
+        electrodeActivityListener.removeReactNativeView(mMiniAppComponentName, reactRootView);
+        mMiniAppView = null;
+    }
+
+    @Nullable
+    private static Bitmap snapshot(@NonNull View view) {
+        if (view.getWidth() == 0 || view.getHeight() == 0) {
+            return null;
+        }
+        // Half resolution is enough for the few frames the snapshot is shown.
+        Bitmap bitmap = Bitmap.createBitmap(Math.max(1, view.getWidth() / 2), Math.max(1, view.getHeight() / 2), Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        canvas.scale(0.5f, 0.5f);
+        view.draw(canvas);
+        return bitmap;
+    }
+
+    private static void showSnapshotUntilRendered(@NonNull final View view, @NonNull Bitmap snapshot) {
+        if (!(view instanceof ViewGroup)) {
+            return;
+        }
+        view.setBackground(new BitmapDrawable(view.getResources(), snapshot));
+        ((ViewGroup) view).setOnHierarchyChangeListener(new ViewGroup.OnHierarchyChangeListener() {
+            @Override
+            public void onChildViewAdded(View parent, View child) {
+                ((ViewGroup) view).setOnHierarchyChangeListener(null);
+                // Wait for the first frame of the react content before removing the snapshot.
+                view.postOnAnimation(new Runnable() {
+                    @Override
+                    public void run() {
+                        view.setBackground(null);
+                    }
+                });
+            }
+
+            @Override
+            public void onChildViewRemoved(View parent, View child) {
+            }
+        });
     }
 
     private void storeOldParent() {
@@ -267,6 +356,11 @@ public class ElectrodeBaseFragmentDelegate<T extends ElectrodeBaseFragmentDelega
     @CallSuper
     public void onDestroy() {
         Logger.v(TAG, "onDestroy(): " + getReactComponentName());
+        LiveRootViewBudget budget = LiveRootViewBudget.get(mFragment.getActivity());
+        if (budget != null) {
+            budget.onReleased(mBudgetEntry);
+        }
+        mRootViewSnapshot = null;
         if (mMiniAppView instanceof ReactRootView) {
             electrodeActivityListener.removeReactNativeView(mMiniAppComponentName, (ReactRootView) mMiniAppView);
             mMiniAppView = null;
@@ -103,6 +103,11 @@ public class LaunchConfig {
      */
     TRANSITION navigationTransition = TRANSITION.DEFAULT;
 
+    /**
+     * Maximum number of react root views kept mounted by the activity, {@link #NONE} keeps all of them mounted.
+     */
+    int mLiveRootViewBudget = NONE;
+
     public LaunchConfig() {
     }
 
@@ -268,4 +273,22 @@ public class LaunchConfig {
     public void setNavigationTransition(@NonNull TRANSITION transition) {
         navigationTransition = transition;
     }
+
+    /**
+     * Limits the number of react root views kept mounted by the activity.
+     * When the back stack is deeper than the budget, the views of the oldest pages are un-mounted and re-mounted with their props when the user navigates back to them.
+     * A snapshot of the un-mounted view is shown until the re-mounted view renders.
+     * <p>
+     * Note: The JS state that is not part of the props is lost for a re-mounted view. Only applied for the default launch config of an activity.
+     *
+     * @param liveRootViewBudget Maximum number of mounted views, {@link #NONE} to keep all of them mounted. Default value: {@link #NONE}.
+     *                           Either way the views of the pages on the back stack are un-mounted when memory is critical, see {@link com.walmartlabs.ern.container.MemoryPressurePolicy}.
+     */
+    public void setLiveRootViewBudget(int liveRootViewBudget) {
+        mLiveRootViewBudget = liveRootViewBudget;
+    }
+
+    public int getLiveRootViewBudget() {
+        return mLiveRootViewBudget;
+    }
 }
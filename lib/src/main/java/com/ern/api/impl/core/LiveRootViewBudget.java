@@ -0,0 +1,159 @@
+package com.ern.api.impl.core;
+
+import android.app.Activity;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+import com.walmartlabs.ern.container.MemoryPressurePolicy;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Limits the number of mounted react root views of an activity, see {@link LaunchConfig#setLiveRootViewBudget(int)}.
+ * <p>
+ * Views of fragments that are on the back stack are parked, when the budget is exceeded the oldest parked views are unmounted.
+ * Views that are currently shown are never unmounted. Every activity using the fragment delegates has one, without a budget the parked views
+ * are only unmounted under memory pressure, see {@link MemoryPressurePolicy.Action#UNMOUNT_OFF_SCREEN_VIEWS}.
+ * Only the {@link #MAX_SNAPSHOTS} most recently unmounted views keep a snapshot to show while they are mounted again.
+ */
+@MainThread
+final class LiveRootViewBudget {
+    private static final String TAG = LiveRootViewBudget.class.getSimpleName();
+
+    private static final int MAX_SNAPSHOTS = 2;
+
+    private static final Map<Activity, LiveRootViewBudget> sBudgets = new WeakHashMap<>();
+
+    static {
+        MemoryPressurePolicy.addReleaser(MemoryPressurePolicy.Action.RELEASE_CACHES, new MemoryPressurePolicy.Releaser() {
+            @Override
+            public int release(int level) {
+                int count = 0;
+                for (LiveRootViewBudget budget : sBudgets.values()) {
+                    count += budget.dropSnapshots(0);
+                }
+                return count;
+            }
+        });
+        MemoryPressurePolicy.addReleaser(MemoryPressurePolicy.Action.UNMOUNT_OFF_SCREEN_VIEWS, new MemoryPressurePolicy.Releaser() {
+            @Override
+            public int release(int level) {
+                int count = 0;
+                for (LiveRootViewBudget budget : sBudgets.values()) {
+                    count += budget.unmountParked();
+                }
+                return count;
+            }
+        });
+    }
+
+    interface Entry {
+        /**
+         * Unmounts the react root view, the entry re-mounts it the next time its view is created.
+         *
+         * @param keepSnapshot true to keep a snapshot of the view, shown while it is mounted again
+         */
+        void unmountRootView(boolean keepSnapshot);
+
+        /**
+         * Drops the snapshot taken when the view was unmounted, the view is mounted again without it.
+         */
+        void dropSnapshot();
+    }
+
+    private final int mMaxLiveViews;
+    private final Set<Entry> mShown = new HashSet<>();
+    // Oldest parked entry first.
+    private final Set<Entry> mParked = new LinkedHashSet<>();
+    // Unmounted entries holding a snapshot, oldest first.
+    private final Set<Entry> mSnapshots = new LinkedHashSet<>();
+
+    static void install(@NonNull Activity activity, int maxLiveViews) {
+        if (maxLiveViews < 1) {
+            throw new IllegalArgumentException("Live root view budget should be at least 1, received: " + maxLiveViews);
+        }
+        sBudgets.put(activity, new LiveRootViewBudget(maxLiveViews));
+    }
+
+    @Nullable
+    static LiveRootViewBudget get(@Nullable Activity activity) {
+        return activity != null ? sBudgets.get(activity) : null;
+    }
+
+    private LiveRootViewBudget(int maxLiveViews) {
+        mMaxLiveViews = maxLiveViews;
+    }
+
+    void onShown(@NonNull Entry entry) {
+        mParked.remove(entry);
+        mSnapshots.remove(entry);
+        mShown.add(entry);
+        trim();
+    }
+
+    void onParked(@NonNull Entry entry) {
+        mShown.remove(entry);
+        mParked.add(entry);
+        trim();
+    }
+
+    void onReleased(@NonNull Entry entry) {
+        mShown.remove(entry);
+        mParked.remove(entry);
+        mSnapshots.remove(entry);
+    }
+
+    /**
+     * Unmounts all the parked views, regardless of the budget.
+     *
+     * @return Number of unmounted views
+     */
+    private int unmountParked() {
+        List<Entry> parked = new ArrayList<>(mParked);
+        mParked.clear();
+        for (Entry entry : parked) {
+            Logger.d(TAG, "Memory is low, un-mounting: %s", entry);
+            entry.unmountRootView(false);
+        }
+        return parked.size();
+    }
+
+    /**
+     * Drops the oldest snapshots until at most {@code maxSnapshots} are kept.
+     *
+     * @return Number of dropped snapshots
+     */
+    private int dropSnapshots(int maxSnapshots) {
+        int count = 0;
+        Iterator<Entry> iterator = mSnapshots.iterator();
+        while (mSnapshots.size() > maxSnapshots && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            iterator.remove();
+            entry.dropSnapshot();
+            count++;
+        }
+        return count;
+    }
+
+    private void trim() {
+        Iterator<Entry> iterator = mParked.iterator();
+        while (mShown.size() + mParked.size() > mMaxLiveViews && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            iterator.remove();
+            Logger.d(TAG, "Live root view budget(%s) exceeded, un-mounting: %s", mMaxLiveViews, entry);
+            entry.unmountRootView(true);
+            mSnapshots.add(entry);
+        }
+        dropSnapshots(MAX_SNAPSHOTS);
+    }
+}
@@ -20,6 +20,7 @@ import androidx.lifecycle.Observer;
 import androidx.lifecycle.ViewModelProviders;
 
 import com.ern.api.impl.core.ActivityDelegateConstants;
+import com.ern.api.impl.core.BackStackIndex;
 import com.ern.api.impl.core.ElectrodeBaseFragmentDelegate;
 import com.ern.api.impl.core.ElectrodeFragmentConfig;
 import com.ern.api.impl.core.LaunchConfig;
@@ -32,7 +33,6 @@ import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
 
 import org.json.JSONObject;
 
-import java.io.IOException;
 import java.util.List;
 
 import static com.ern.api.impl.navigation.NavEventType.APP_DATA;
@@ -57,12 +57,20 @@ public class ElectrodeNavigationFragmentDelegate<T extends ElectrodeBaseFragment
     @Nullable
     private Menu mMenu;
 
+    // URL of the up indicator icon being loaded, a late icon is only applied if it is still the current one.
+    @Nullable
+    private String mPendingUpIndicatorIcon;
+
     private BackPressedCallback mBackPressedCallback;
 
     protected boolean ignoreRnNavBarUpdate;
 
     private Handler mMainHandler = new Handler(Looper.getMainLooper());
 
+    static {
+        BackStackIndex.addRouteHandlerType(NavigationRouteHandler.class);
+    }
+
     private final Observer<Route> routeObserver = new Observer<Route>() {
         @Override
         public void onChanged(@Nullable Route route) {
@@ -237,6 +245,7 @@ public class ElectrodeNavigationFragmentDelegate<T extends ElectrodeBaseFragment
         if (mFragment.getArguments() != null) {
             mFragment.getArguments().putAll(route.getArguments());
         }
+        // Consecutive updates received within a frame are already collapsed by the route queue, see RouteQueueLiveData.
         boolean result = updateNavBar(route.getArguments());
         route.setResult(true, !result ? "failed to update nav bar." : null);
     }
@@ -297,13 +306,7 @@ public class ElectrodeNavigationFragmentDelegate<T extends ElectrodeBaseFragment
     @Nullable
     protected Fragment getTopOfTheStackFragment() {
         if (mFragment.getActivity() != null) {
-            List<Fragment> fragments = mFragment.getActivity().getSupportFragmentManager().getFragments();
-            for (int i = fragments.size() - 1; i >= 0; i--) {
-                Fragment f = fragments.get(i);
-                if (f == mFragment || f instanceof NavigationRouteHandler) {
-                    return f;
-                }
-            }
+            return BackStackIndex.of(mFragment.getActivity().getSupportFragmentManager()).getTopRouteHandler(mFragment);
         }
         return null;
     }
@@ -436,6 +439,7 @@ public class ElectrodeNavigationFragmentDelegate<T extends ElectrodeBaseFragment
     }
 
     private void updateHomeAsUpIndicator(@Nullable NavigationBarLeftButton leftButton, @NonNull ActionBar actionBar) {
+        mPendingUpIndicatorIcon = null;
         if (leftButton != null) {
             if (leftButton.getDisabled() != null && leftButton.getDisabled()) {
                 Logger.d(TAG, "Disabling DisplayHomeAsUp for component: %s", getReactComponentName());
@@ -476,14 +480,23 @@ public class ElectrodeNavigationFragmentDelegate<T extends ElectrodeBaseFragment
                 actionBar.setHomeAsUpIndicator(mMenuItemDataProvider.homeAsUpIndicatorOverride(iconName));
                 return true;
             } else if (MenuUtil.canLoadIconFromURI(iconName)) {
-                try {
-                    Drawable iconDrawable = MenuUtil.getBitmapFromURL(mFragment.getActivity(), iconName);
-                    actionBar.setDisplayHomeAsUpEnabled(true);
-                    actionBar.setHomeAsUpIndicator(iconDrawable);
-                    return true;
-                } catch (IOException e) {
-                    Logger.w(TAG, "Load failed for left icon from URL: " + iconName);
+                mPendingUpIndicatorIcon = iconName;
+                actionBar.setDisplayHomeAsUpEnabled(true);
+                NavBarIconLoader iconLoader = NavBarIconLoader.getInstance(mFragment.requireActivity());
+                boolean loaded = iconLoader.load(iconName, new NavBarIconLoader.Callback() {
+                    @Override
+                    public void onIconLoaded(@NonNull Drawable icon) {
+                        // Ignore icons that arrive after the fragment went away or after the nav bar moved to another icon.
+                        ActionBar currentActionBar = getSupportActionBar();
+                        if (mFragment.isAdded() && currentActionBar != null && iconName.equals(mPendingUpIndicatorIcon)) {
+                            currentActionBar.setHomeAsUpIndicator(icon);
+                        }
+                    }
+                });
+                if (!loaded) {
+                    actionBar.setHomeAsUpIndicator(iconLoader.placeholder());
                 }
+                return true;
             } else {
                 int icon = mFragment.getActivity().getResources().getIdentifier(iconName, "drawable", mFragment.getActivity().getPackageName());
                 if (icon != 0) {
@@ -17,19 +17,17 @@
 package com.ern.api.impl.navigation;
 
 import android.content.Context;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
 import android.os.Build;
-import android.os.StrictMode;
 import android.text.TextUtils;
+import android.util.LruCache;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.webkit.URLUtil;
 
 import androidx.annotation.DrawableRes;
 import androidx.annotation.IdRes;
+import androidx.annotation.MainThread;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.view.MenuItemCompat;
@@ -38,9 +36,20 @@ import com.ernnavigation.ern.model.NavigationBar;
 import com.ernnavigation.ern.model.NavigationBarButton;
 import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
 
-import java.io.IOException;
-import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
 
+/**
+ * Keeps the menu in sync with the {@link NavigationBar} buttons.
+ * <p>
+ * The buttons applied to a menu are remembered, the next update only touches the items whose button changed.
+ * The menu is rebuilt when buttons are added, removed or reordered, or when the menu was modified by someone else.
+ */
+@MainThread
 final class MenuUtil {
 
     private MenuUtil() {
@@ -48,40 +57,143 @@ final class MenuUtil {
 
     private static final String TAG = MenuUtil.class.getSimpleName();
 
+    private static final Map<Menu, MenuState> sMenuStates = new WeakHashMap<>();
+    private static final int MAX_CACHED_MENU_ITEM_PROPERTIES = 32;
+
+    // Provider results keyed by button id and icon name, dropped when the menu is rebuilt so that a provider can change its answers.
+    private static final Map<MenuItemDataProvider, LruCache<String, MenuItemProperties>> sMenuItemProperties = new WeakHashMap<>();
+    private static final Map<String, Integer> sDrawableIds = new HashMap<>();
+    // URL icon expected by a menu item, a late icon of a button that has since been replaced is ignored.
+    private static final Map<MenuItem, String> sIconUrls = new WeakHashMap<>();
+
+    /**
+     * Buttons currently applied to a menu and the items created for them, in the same order.
+     */
+    private static final class MenuState {
+        final List<NavigationBarButton> buttons;
+        final List<MenuItem> items;
+        final OnNavBarItemClickListener clickListener;
+        final MenuItemDataProvider menuItemDataProvider;
+
+        MenuState(@NonNull List<NavigationBarButton> buttons, @NonNull List<MenuItem> items, @NonNull OnNavBarItemClickListener clickListener, @Nullable MenuItemDataProvider menuItemDataProvider) {
+            this.buttons = buttons;
+            this.items = items;
+            this.clickListener = clickListener;
+            this.menuItemDataProvider = menuItemDataProvider;
+        }
+
+        /**
+         * @return true if the items created for this state are still the items of the menu
+         */
+        boolean isCurrent(@NonNull Menu menu, @NonNull OnNavBarItemClickListener clickListener, @Nullable MenuItemDataProvider menuItemDataProvider) {
+            if (this.clickListener != clickListener || this.menuItemDataProvider != menuItemDataProvider || menu.size() != items.size()) {
+                return false;
+            }
+            for (int i = 0; i < items.size(); i++) {
+                if (menu.getItem(i) != items.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     static void updateMenuItems(@NonNull Menu menu, @NonNull NavigationBar navigationBar, @NonNull OnNavBarItemClickListener navBarButtonClickListener, @Nullable MenuItemDataProvider menuItemDataProvider, @NonNull Context context) {
         Logger.d(TAG, "Updating nav bar menu items");
-        menu.clear();
 
-        if (navigationBar.getButtons() == null || navigationBar.getButtons().size() == 0) {
-            Logger.d(TAG, "No buttons found in the NavBar");
-            return;
+        List<NavigationBarButton> buttons = new ArrayList<>();
+        if (navigationBar.getButtons() != null) {
+            for (NavigationBarButton button : navigationBar.getButtons()) {
+                // button.getLocation() is now deprecated. The new implementation considers all buttons inside navigationBar.getButtons() as right buttons.
+                // This condition is kept here to keep the backward compatibility.
+                if (!"left".equalsIgnoreCase(button.getLocation())) {
+                    buttons.add(button);
+                }
+            }
         }
 
-        for (final NavigationBarButton button : navigationBar.getButtons()) {
-            // button.getLocation() is now deprecated. The new implementation considers all buttons inside navigationBar.getButtons() as right buttons.
-            // This condition is kept here to keep the backward compatibility.
-            if ("left".equalsIgnoreCase(button.getLocation())) {
-                continue;
+        MenuState state = sMenuStates.get(menu);
+        if (state != null && state.isCurrent(menu, navBarButtonClickListener, menuItemDataProvider)) {
+            if (state.buttons.equals(buttons)) {
+                Logger.d(TAG, "Nav bar buttons did not change, skipping menu update");
+                return;
+            }
+            if (updateChangedItems(state, buttons, context)) {
+                return;
             }
-            addButtonAsMenuItem(button, menu, navBarButtonClickListener, menuItemDataProvider, context);
         }
+
+        rebuild(menu, buttons, navBarButtonClickListener, menuItemDataProvider, context);
     }
 
-    private static MenuItem addButtonAsMenuItem(@NonNull NavigationBarButton button, @NonNull Menu menu, @NonNull final OnNavBarItemClickListener navBarButtonClickListener, @Nullable MenuItemDataProvider menuItemDataProvider, @NonNull Context context) {
-        MenuItemProperties menuItemProperties = null;
-        @DrawableRes int icon = Menu.NONE;
-        @IdRes int itemId = Menu.NONE;
+    /**
+     * Updates the items in place when only the content of some buttons changed.
+     *
+     * @return false if the menu needs to be rebuilt
+     */
+    private static boolean updateChangedItems(@NonNull MenuState state, @NonNull List<NavigationBarButton> buttons, @NonNull Context context) {
+        if (state.buttons.size() != buttons.size()) {
+            return false;
+        }
+        for (int i = 0; i < buttons.size(); i++) {
+            if (!Objects.equals(buttons.get(i).getId(), state.buttons.get(i).getId())) {
+                return false;
+            }
+        }
 
-        if (menuItemDataProvider != null) {
-            menuItemProperties = menuItemDataProvider.menuItemPropertiesFor(button);
-            if (menuItemProperties != null) {
-                icon = menuItemProperties.icon();
-                itemId = menuItemProperties.itemId();
+        for (int i = 0; i < buttons.size(); i++) {
+            NavigationBarButton button = buttons.get(i);
+            if (button.equals(state.buttons.get(i))) {
+                continue;
             }
+            MenuItem menuItem = state.items.get(i);
+            MenuItemProperties menuItemProperties = menuItemPropertiesFor(button, state.menuItemDataProvider);
+            int itemId = menuItemProperties != null ? menuItemProperties.itemId() : Menu.NONE;
+            if (itemId != menuItem.getItemId()) {
+                // Item ids can not be changed in place.
+                return false;
+            }
+            Logger.d(TAG, "Updating menu item for button: %s", button.getId());
+            bindButton(menuItem, button, menuItemProperties, state.clickListener, context);
+            state.buttons.set(i, button);
+        }
+        return true;
+    }
+
+    private static void rebuild(@NonNull Menu menu, @NonNull List<NavigationBarButton> buttons, @NonNull OnNavBarItemClickListener navBarButtonClickListener, @Nullable MenuItemDataProvider menuItemDataProvider, @NonNull Context context) {
+        menu.clear();
+        sMenuStates.remove(menu);
+        if (menuItemDataProvider != null) {
+            sMenuItemProperties.remove(menuItemDataProvider);
         }
 
+        if (buttons.isEmpty()) {
+            Logger.d(TAG, "No buttons found in the NavBar");
+            return;
+        }
+
+        List<MenuItem> items = new ArrayList<>(buttons.size());
+        for (final NavigationBarButton button : buttons) {
+            items.add(addButtonAsMenuItem(button, menu, navBarButtonClickListener, menuItemDataProvider, context));
+        }
+        sMenuStates.put(menu, new MenuState(buttons, items, navBarButtonClickListener, menuItemDataProvider));
+    }
+
+    private static MenuItem addButtonAsMenuItem(@NonNull NavigationBarButton button, @NonNull Menu menu, @NonNull final OnNavBarItemClickListener navBarButtonClickListener, @Nullable MenuItemDataProvider menuItemDataProvider, @NonNull Context context) {
+        MenuItemProperties menuItemProperties = menuItemPropertiesFor(button, menuItemDataProvider);
+        @IdRes int itemId = menuItemProperties != null ? menuItemProperties.itemId() : Menu.NONE;
+
         MenuItem menuItem = menu.add(Menu.NONE, itemId, Menu.NONE, button.getTitle());
+        bindButton(menuItem, button, menuItemProperties, navBarButtonClickListener, context);
+        return menuItem;
+    }
 
+    private static void bindButton(@NonNull MenuItem menuItem, @NonNull NavigationBarButton button, @Nullable MenuItemProperties menuItemProperties, @NonNull final OnNavBarItemClickListener navBarButtonClickListener, @NonNull Context context) {
+        @DrawableRes int icon = menuItemProperties != null ? menuItemProperties.icon() : Menu.NONE;
+
+        menuItem.setTitle(button.getTitle());
+        menuItem.setIcon(null);
+        sIconUrls.remove(menuItem);
         if (icon != Menu.NONE) {
             Logger.d(TAG, "setting native provided menu icon, ignoring icon passed inside NavigationBarButton");
             menuItem.setIcon(icon);
@@ -89,14 +201,10 @@ final class MenuUtil {
         } else if (button.getIcon() != null) {
             String iconLocation = button.getIcon();
             if (canLoadIconFromURI(iconLocation)) {
-                try {
-                    menuItem.setIcon(getBitmapFromURL(context, iconLocation));
-                    menuItem.setShowAsAction(MenuItem.SHOW_AS_ACTION_ALWAYS);
-                } catch (IOException e) {
-                    Logger.w(TAG, "Load failed for icon from URL: " + iconLocation);
-                }
+                setIconFromURL(menuItem, iconLocation, context);
+                menuItem.setShowAsAction(MenuItem.SHOW_AS_ACTION_ALWAYS);
             } else {
-                icon = context.getResources().getIdentifier(iconLocation, "drawable", context.getPackageName());
+                icon = drawableIdFor(iconLocation, context);
                 if (icon != Menu.NONE) {
                     menuItem.setIcon(icon);
                     menuItem.setShowAsAction(MenuItem.SHOW_AS_ACTION_ALWAYS);
@@ -106,38 +214,77 @@ final class MenuUtil {
             }
         }
 
-        if (button.getDisabled() != null) {
-            menuItem.setEnabled(!button.getDisabled());
-        }
+        menuItem.setEnabled(button.getDisabled() == null || !button.getDisabled());
 
         if (menuItemProperties == null || !menuItemProperties.shouldHandleClickOnNative()) {
             registerItemClickListener(menuItem, button, navBarButtonClickListener);
+        } else {
+            menuItem.setOnMenuItemClickListener(null);
         }
 
-        if (!TextUtils.isEmpty(button.getAdaLabel())) {
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-                menuItem.setContentDescription(button.getAdaLabel());
-            } else {
-                MenuItemCompat.setContentDescription(menuItem, button.getAdaLabel());
+        CharSequence contentDescription = !TextUtils.isEmpty(button.getAdaLabel()) ? button.getAdaLabel() : null;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            menuItem.setContentDescription(contentDescription);
+        } else {
+            MenuItemCompat.setContentDescription(menuItem, contentDescription);
+        }
+    }
+
+    @Nullable
+    private static MenuItemProperties menuItemPropertiesFor(@NonNull NavigationBarButton button, @Nullable MenuItemDataProvider menuItemDataProvider) {
+        if (menuItemDataProvider == null) {
+            return null;
+        }
+
+        LruCache<String, MenuItemProperties> cache = sMenuItemProperties.get(menuItemDataProvider);
+        if (cache == null) {
+            cache = new LruCache<>(MAX_CACHED_MENU_ITEM_PROPERTIES);
+            sMenuItemProperties.put(menuItemDataProvider, cache);
+        }
+        // The id is part of the key since the provided item id usually depends on it, title or state changes reuse the entry.
+        String key = button.getId() + '/' + button.getIcon();
+        MenuItemProperties menuItemProperties = cache.get(key);
+        if (menuItemProperties == null) {
+            menuItemProperties = menuItemDataProvider.menuItemPropertiesFor(button);
+            if (menuItemProperties != null) {
+                cache.put(key, menuItemProperties);
             }
         }
+        return menuItemProperties;
+    }
 
-        return menuItem;
+    @DrawableRes
+    private static int drawableIdFor(@NonNull String iconName, @NonNull Context context) {
+        Integer icon = sDrawableIds.get(iconName);
+        if (icon == null) {
+            icon = context.getResources().getIdentifier(iconName, "drawable", context.getPackageName());
+            sDrawableIds.put(iconName, icon);
+        }
+        return icon;
     }
 
     public static boolean canLoadIconFromURI(String icon) {
         return  URLUtil.isValidUrl(icon);
     }
 
-    public static Drawable getBitmapFromURL(Context context, String iconLocation) throws IOException {
+    /**
+     * Sets the icon loaded from the URL on the menu item, a transparent placeholder holds the icon space until the icon is available.
+     */
+    private static void setIconFromURL(@NonNull final MenuItem menuItem, @NonNull final String iconLocation, @NonNull Context context) {
         Logger.d(TAG, "Attempting to load icon from URL: " + iconLocation);
-        StrictMode.ThreadPolicy oldPolicy = StrictMode.getThreadPolicy();
-        StrictMode.ThreadPolicy policy = new StrictMode.ThreadPolicy.Builder().permitNetwork().build();
-        StrictMode.setThreadPolicy(policy);
-        URL iconUrl = new URL(iconLocation);
-        Bitmap iconBitmap = BitmapFactory.decodeStream(iconUrl.openConnection().getInputStream());
-        StrictMode.setThreadPolicy(oldPolicy);
-        return new BitmapDrawable(context.getResources(), iconBitmap);
+        NavBarIconLoader iconLoader = NavBarIconLoader.getInstance(context);
+        sIconUrls.put(menuItem, iconLocation);
+        boolean loaded = iconLoader.load(iconLocation, new NavBarIconLoader.Callback() {
+            @Override
+            public void onIconLoaded(@NonNull Drawable icon) {
+                if (iconLocation.equals(sIconUrls.get(menuItem))) {
+                    menuItem.setIcon(icon);
+                }
+            }
+        });
+        if (!loaded) {
+            menuItem.setIcon(iconLoader.placeholder());
+        }
     }
 
     private static void registerItemClickListener(@NonNull final MenuItem menuItem, @NonNull final NavigationBarButton button, @NonNull final OnNavBarItemClickListener navBarButtonClickListener) {
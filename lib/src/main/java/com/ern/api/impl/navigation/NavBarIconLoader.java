@@ -0,0 +1,383 @@
+/*
+ * Copyright 2019 Walmart Labs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ern.api.impl.navigation;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Color;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.ShapeDrawable;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+import com.walmartlabs.ern.container.MemoryPressurePolicy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads the nav bar icons referenced by URL off the main thread.
+ * <p>
+ * Decoded icons are kept in a memory LRU bounded in bytes, downloaded icons are stored in the app cache dir along with their ETag/Last-Modified validators.
+ * An icon found on disk is delivered right away and revalidated once per process with a conditional request,
+ * the callback is called again if the server returns a new icon. Concurrent loads of the same URL share a single request.
+ */
+final class NavBarIconLoader {
+    private static final String TAG = NavBarIconLoader.class.getSimpleName();
+
+    private static final String CACHE_DIR = "ern_navbar_icons";
+    private static final String KEY_ETAG = "etag";
+    private static final String KEY_LAST_MODIFIED = "lastModified";
+    private static final int TIMEOUT_MS = 10000;
+    private static final int PLACEHOLDER_SIZE_DP = 24;
+
+    interface Callback {
+        @MainThread
+        void onIconLoaded(@NonNull Drawable icon);
+    }
+
+    private static NavBarIconLoader sInstance;
+
+    private final Context mContext;
+    private final File mCacheDir;
+    private final ExecutorService mExecutor = Executors.newFixedThreadPool(2);
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private final LruCache<String, Bitmap> mMemoryCache;
+    // Main thread only.
+    private final Map<String, InFlight> mInFlight = new HashMap<>();
+    private final Set<String> mValidated = Collections.synchronizedSet(new HashSet<String>());
+
+    @MainThread
+    static NavBarIconLoader getInstance(@NonNull Context context) {
+        if (sInstance == null) {
+            final NavBarIconLoader instance = new NavBarIconLoader(context.getApplicationContext());
+            MemoryPressurePolicy.addReleaser(MemoryPressurePolicy.Action.RELEASE_CACHES, new MemoryPressurePolicy.Releaser() {
+                @Override
+                public int release(int level) {
+                    return instance.clearMemoryCache();
+                }
+            });
+            sInstance = instance;
+        }
+        return sInstance;
+    }
+
+    private NavBarIconLoader(@NonNull Context context) {
+        mContext = context;
+        mCacheDir = new File(context.getCacheDir(), CACHE_DIR);
+        int maxBytes = (int) Math.min(4 * 1024 * 1024, Runtime.getRuntime().maxMemory() / 32);
+        mMemoryCache = new LruCache<String, Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap) {
+                return bitmap.getByteCount();
+            }
+        };
+    }
+
+    /**
+     * Loads the icon, the callback is called synchronously when the icon is in memory.
+     *
+     * @return true if the callback was called synchronously
+     */
+    @MainThread
+    boolean load(@NonNull final String url, @NonNull Callback callback) {
+        Bitmap bitmap = mMemoryCache.get(url);
+        if (bitmap != null) {
+            callback.onIconLoaded(toDrawable(bitmap));
+            if (!mValidated.contains(url)) {
+                // Called again only if the server returns a new icon.
+                enqueue(url, callback, true);
+            }
+            return true;
+        }
+        enqueue(url, callback, false);
+        return false;
+    }
+
+    /**
+     * @return A transparent drawable of the size of a nav bar icon, shown until the icon is loaded
+     */
+    @NonNull
+    Drawable placeholder() {
+        int size = Math.round(PLACEHOLDER_SIZE_DP * mContext.getResources().getDisplayMetrics().density);
+        ShapeDrawable placeholder = new ShapeDrawable();
+        placeholder.getPaint().setColor(Color.TRANSPARENT);
+        placeholder.setIntrinsicWidth(size);
+        placeholder.setIntrinsicHeight(size);
+        return placeholder;
+    }
+
+    /**
+     * Drops the decoded icons, the disk cache is kept.
+     *
+     * @return Number of dropped icons
+     */
+    int clearMemoryCache() {
+        int count = mMemoryCache.snapshot().size();
+        mMemoryCache.evictAll();
+        return count;
+    }
+
+    /**
+     * Callbacks waiting for a load, main thread only.
+     */
+    private static final class InFlight {
+        // Callbacks that did not get an icon yet.
+        final List<Callback> pending = new ArrayList<>();
+        // Callbacks that got the cached icon, they are called again only with a new icon.
+        final List<Callback> delivered = new ArrayList<>();
+    }
+
+    @MainThread
+    private void enqueue(@NonNull final String url, @NonNull Callback callback, boolean delivered) {
+        InFlight inFlight = mInFlight.get(url);
+        boolean started = inFlight != null;
+        if (inFlight == null) {
+            inFlight = new InFlight();
+            mInFlight.put(url, inFlight);
+        }
+        (delivered ? inFlight.delivered : inFlight.pending).add(callback);
+        if (started) {
+            return;
+        }
+
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                fetch(url);
+            }
+        });
+    }
+
+    @WorkerThread
+    private void fetch(@NonNull String url) {
+        File iconFile = new File(mCacheDir, key(url));
+        File metaFile = new File(mCacheDir, key(url) + ".meta");
+
+        if (mMemoryCache.get(url) == null && iconFile.exists()) {
+            Bitmap cached = decode(readFully(iconFile));
+            if (cached != null) {
+                mMemoryCache.put(url, cached);
+                deliver(url, cached, mValidated.contains(url), false);
+                if (mValidated.contains(url)) {
+                    return;
+                }
+            }
+        }
+
+        Properties validators = new Properties();
+        if (iconFile.exists() && metaFile.exists()) {
+            validators = readProperties(metaFile);
+        }
+
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setConnectTimeout(TIMEOUT_MS);
+            connection.setReadTimeout(TIMEOUT_MS);
+            if (validators.getProperty(KEY_ETAG) != null) {
+                connection.setRequestProperty("If-None-Match", validators.getProperty(KEY_ETAG));
+            }
+            if (validators.getProperty(KEY_LAST_MODIFIED) != null) {
+                connection.setRequestProperty("If-Modified-Since", validators.getProperty(KEY_LAST_MODIFIED));
+            }
+
+            int status = connection.getResponseCode();
+            mValidated.add(url);
+            if (status == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                Logger.v(TAG, "Icon not modified: %s", url);
+                deliver(url, mMemoryCache.get(url), true, false);
+                return;
+            }
+            if (status != HttpURLConnection.HTTP_OK) {
+                Logger.w(TAG, "Load failed for icon from URL: %s, status: %s", url, status);
+                deliver(url, mMemoryCache.get(url), true, false);
+                return;
+            }
+
+            byte[] bytes = readFully(connection.getInputStream());
+            Bitmap bitmap = decode(bytes);
+            if (bitmap != null) {
+                mMemoryCache.put(url, bitmap);
+                Properties newValidators = new Properties();
+                if (connection.getHeaderField("ETag") != null) {
+                    newValidators.setProperty(KEY_ETAG, connection.getHeaderField("ETag"));
+                }
+                if (connection.getHeaderField("Last-Modified") != null) {
+                    newValidators.setProperty(KEY_LAST_MODIFIED, connection.getHeaderField("Last-Modified"));
+                }
+                store(iconFile, metaFile, bytes, newValidators);
+            }
+            deliver(url, bitmap, true, true);
+        } catch (IOException e) {
+            Logger.w(TAG, "Load failed for icon from URL: %s, %s", url, e.getMessage());
+            deliver(url, mMemoryCache.get(url), true, false);
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Hands the bitmap over to the waiting callbacks, on the main thread.
+     *
+     * A callback gets the same icon only once, the callbacks that already got an icon are only called again with a new one.
+     *
+     * @param done    true if the request is complete, false when a cached icon is delivered before being revalidated
+     * @param newIcon true if the icon was returned by the server
+     */
+    @WorkerThread
+    private void deliver(@NonNull final String url, @Nullable final Bitmap bitmap, final boolean done, final boolean newIcon) {
+        mMainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                InFlight inFlight = done ? mInFlight.remove(url) : mInFlight.get(url);
+                if (inFlight == null || bitmap == null) {
+                    return;
+                }
+                List<Callback> callbacks = new ArrayList<>(inFlight.pending);
+                if (newIcon) {
+                    callbacks.addAll(inFlight.delivered);
+                }
+                inFlight.delivered.addAll(inFlight.pending);
+                inFlight.pending.clear();
+                for (Callback callback : callbacks) {
+                    callback.onIconLoaded(toDrawable(bitmap));
+                }
+            }
+        });
+    }
+
+    @NonNull
+    private Drawable toDrawable(@NonNull Bitmap bitmap) {
+        return new BitmapDrawable(mContext.getResources(), bitmap);
+    }
+
+    @Nullable
+    private static Bitmap decode(@Nullable byte[] bytes) {
+        return bytes != null ? BitmapFactory.decodeByteArray(bytes, 0, bytes.length) : null;
+    }
+
+    private void store(@NonNull File iconFile, @NonNull File metaFile, @NonNull byte[] bytes, @NonNull Properties validators) {
+        if (!mCacheDir.exists() && !mCacheDir.mkdirs()) {
+            return;
+        }
+        File tmp = new File(mCacheDir, iconFile.getName() + ".tmp");
+        try {
+            OutputStream out = new FileOutputStream(tmp);
+            try {
+                out.write(bytes);
+            } finally {
+                out.close();
+            }
+            OutputStream metaOut = new FileOutputStream(metaFile);
+            try {
+                validators.store(metaOut, null);
+            } finally {
+                metaOut.close();
+            }
+            if (!tmp.renameTo(iconFile)) {
+                Logger.w(TAG, "Unable to cache icon %s", iconFile);
+            }
+        } catch (IOException e) {
+            Logger.w(TAG, "Unable to cache icon %s: %s", iconFile, e.getMessage());
+        }
+    }
+
+    @NonNull
+    private static Properties readProperties(@NonNull File file) {
+        Properties properties = new Properties();
+        try {
+            InputStream in = new FileInputStream(file);
+            try {
+                properties.load(in);
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            Logger.w(TAG, "Unable to read icon validators %s", file);
+        }
+        return properties;
+    }
+
+    @Nullable
+    private static byte[] readFully(@NonNull File file) {
+        try {
+            return readFully(new FileInputStream(file));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @NonNull
+    private static byte[] readFully(@NonNull InputStream in) throws IOException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    @NonNull
+    private static String key(@NonNull String url) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            StringBuilder key = new StringBuilder();
+            for (byte b : digest.digest(url.getBytes("UTF-8"))) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException | IOException e) {
+            return Integer.toHexString(url.hashCode());
+        }
+    }
+}
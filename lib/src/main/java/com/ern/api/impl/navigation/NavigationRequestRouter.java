@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019 Walmart Labs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ern.api.impl.navigation;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.ernnavigation.ern.api.EnNavigationApi;
+import com.ernnavigation.ern.model.ErnNavRoute;
+import com.walmartlabs.electrode.reactnative.bridge.BridgeFailureMessage;
+import com.walmartlabs.electrode.reactnative.bridge.ElectrodeBridgeRequestHandler;
+import com.walmartlabs.electrode.reactnative.bridge.ElectrodeBridgeResponseListener;
+import com.walmartlabs.electrode.reactnative.bridge.None;
+import com.walmartlabs.electrode.reactnative.bridge.RequestHandlerHandle;
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Owns the navigation request handlers for the whole app and forwards every request to the focused {@link ReactNavigationViewModel}.
+ * <p>
+ * The handlers are registered once, a fragment or activity getting focus only swaps the focused view model.
+ * If another component replaces one of the handlers, they are registered again on the next focus change.
+ */
+final class NavigationRequestRouter {
+    private static final String TAG = NavigationRequestRouter.class.getSimpleName();
+
+    private static final NavigationRequestRouter INSTANCE = new NavigationRequestRouter();
+
+    private final AtomicReference<ReactNavigationViewModel> mFocused = new AtomicReference<>();
+
+    private RequestHandlerHandle mNavigateHandle;
+    private RequestHandlerHandle mUpdateHandle;
+    private RequestHandlerHandle mBackHandle;
+    private RequestHandlerHandle mFinishHandle;
+
+    private final ElectrodeBridgeRequestHandler<ErnNavRoute, None> navigateRequestHandler = new ElectrodeBridgeRequestHandler<ErnNavRoute, None>() {
+        @Override
+        public void onRequest(@Nullable ErnNavRoute ernRoute, @NonNull ElectrodeBridgeResponseListener<None> responseListener) {
+            ReactNavigationViewModel focused = focused(responseListener);
+            if (focused != null) {
+                focused.navRequestHandler.onRequest(ernRoute, responseListener);
+            }
+        }
+    };
+
+    private final ElectrodeBridgeRequestHandler<ErnNavRoute, None> updateRequestHandler = new ElectrodeBridgeRequestHandler<ErnNavRoute, None>() {
+        @Override
+        public void onRequest(@Nullable ErnNavRoute ernRoute, @NonNull ElectrodeBridgeResponseListener<None> responseListener) {
+            ReactNavigationViewModel focused = focused(responseListener);
+            if (focused != null) {
+                focused.updateRequestHandler.onRequest(ernRoute, responseListener);
+            }
+        }
+    };
+
+    private final ElectrodeBridgeRequestHandler<ErnNavRoute, None> backRequestHandler = new ElectrodeBridgeRequestHandler<ErnNavRoute, None>() {
+        @Override
+        public void onRequest(@Nullable ErnNavRoute ernRoute, @NonNull ElectrodeBridgeResponseListener<None> responseListener) {
+            ReactNavigationViewModel focused = focused(responseListener);
+            if (focused != null) {
+                focused.backRequestHandler.onRequest(ernRoute, responseListener);
+            }
+        }
+    };
+
+    private final ElectrodeBridgeRequestHandler<String, None> finishRequestHandler = new ElectrodeBridgeRequestHandler<String, None>() {
+        @Override
+        public void onRequest(@Nullable String payload, @NonNull ElectrodeBridgeResponseListener<None> responseListener) {
+            ReactNavigationViewModel focused = focused(responseListener);
+            if (focused != null) {
+                focused.finishRequestHandler.onRequest(payload, responseListener);
+            }
+        }
+    };
+
+    static NavigationRequestRouter getInstance() {
+        return INSTANCE;
+    }
+
+    private NavigationRequestRouter() {
+    }
+
+    /**
+     * Makes the view model the receiver of all the navigation requests.
+     */
+    @MainThread
+    void focus(@NonNull ReactNavigationViewModel viewModel) {
+        ensureRegistered();
+        if (mFocused.getAndSet(viewModel) != viewModel) {
+            Logger.d(TAG, "Navigation focus moved to %s", viewModel);
+        }
+    }
+
+    /**
+     * Removes the focus from the view model, no-op if another view model took the focus in the meantime.
+     */
+    void clearFocus(@NonNull ReactNavigationViewModel viewModel) {
+        if (mFocused.compareAndSet(viewModel, null)) {
+            Logger.d(TAG, "Navigation focus cleared by %s", viewModel);
+        }
+    }
+
+    boolean isFocused(@NonNull ReactNavigationViewModel viewModel) {
+        return mFocused.get() == viewModel;
+    }
+
+    private void ensureRegistered() {
+        if (mNavigateHandle == null || !mNavigateHandle.isRegistered()) {
+            Logger.d(TAG, "Registering navigation request handlers");
+            mNavigateHandle = EnNavigationApi.requests().registerNavigateRequestHandler(navigateRequestHandler);
+        }
+        if (mUpdateHandle == null || !mUpdateHandle.isRegistered()) {
+            mUpdateHandle = EnNavigationApi.requests().registerUpdateRequestHandler(updateRequestHandler);
+        }
+        if (mBackHandle == null || !mBackHandle.isRegistered()) {
+            mBackHandle = EnNavigationApi.requests().registerBackRequestHandler(backRequestHandler);
+        }
+        if (mFinishHandle == null || !mFinishHandle.isRegistered()) {
+            mFinishHandle = EnNavigationApi.requests().registerFinishRequestHandler(finishRequestHandler);
+        }
+    }
+
+    @Nullable
+    private ReactNavigationViewModel focused(@NonNull ElectrodeBridgeResponseListener<None> responseListener) {
+        ReactNavigationViewModel focused = mFocused.get();
+        if (focused == null) {
+            Logger.w(TAG, "Navigation request received while no fragment or activity has the navigation focus");
+            responseListener.onFailure(BridgeFailureMessage.create("NAVIGATION_FAILED", "No fragment or activity is currently handling navigation requests."));
+        }
+        return focused;
+    }
+}
@@ -22,16 +22,13 @@ import android.os.Bundle;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
-import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
-import com.ernnavigation.ern.api.EnNavigationApi;
 import com.ernnavigation.ern.model.ErnNavRoute;
 import com.walmartlabs.electrode.reactnative.bridge.BridgeFailureMessage;
 import com.walmartlabs.electrode.reactnative.bridge.ElectrodeBridgeRequestHandler;
 import com.walmartlabs.electrode.reactnative.bridge.ElectrodeBridgeResponseListener;
 import com.walmartlabs.electrode.reactnative.bridge.None;
-import com.walmartlabs.electrode.reactnative.bridge.RequestHandlerHandle;
 import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
 
 public final class ReactNavigationViewModel extends ViewModel {
@@ -45,8 +42,8 @@ public final class ReactNavigationViewModel extends ViewModel {
         FINISH
     }
 
-    private final MutableLiveData<Route> routeLiveData = new MutableLiveData<>();
-    private final ElectrodeBridgeRequestHandler<ErnNavRoute, None> navRequestHandler = new ElectrodeBridgeRequestHandler<ErnNavRoute, None>() {
+    private final RouteQueueLiveData routeLiveData = new RouteQueueLiveData();
+    final ElectrodeBridgeRequestHandler<ErnNavRoute, None> navRequestHandler = new ElectrodeBridgeRequestHandler<ErnNavRoute, None>() {
         @Override
         public void onRequest(@Nullable final ErnNavRoute ernRoute, @NonNull final ElectrodeBridgeResponseListener<None> responseListener) {
             log("onRequest: NAVIGATE");
@@ -58,7 +55,7 @@ public final class ReactNavigationViewModel extends ViewModel {
         }
     };
 
-    private final ElectrodeBridgeRequestHandler<ErnNavRoute, None> updateRequestHandler = new ElectrodeBridgeRequestHandler<ErnNavRoute, None>() {
+    final ElectrodeBridgeRequestHandler<ErnNavRoute, None> updateRequestHandler = new ElectrodeBridgeRequestHandler<ErnNavRoute, None>() {
         @Override
         public void onRequest(@Nullable ErnNavRoute ernRoute, @NonNull final ElectrodeBridgeResponseListener<None> responseListener) {
             log("onRequest: UPDATE");
@@ -69,7 +66,7 @@ public final class ReactNavigationViewModel extends ViewModel {
         }
     };
 
-    private final ElectrodeBridgeRequestHandler<ErnNavRoute, None> backRequestHandler = new ElectrodeBridgeRequestHandler<ErnNavRoute, None>() {
+    final ElectrodeBridgeRequestHandler<ErnNavRoute, None> backRequestHandler = new ElectrodeBridgeRequestHandler<ErnNavRoute, None>() {
         @Override
         public void onRequest(@Nullable ErnNavRoute ernRoute, @NonNull final ElectrodeBridgeResponseListener<None> responseListener) {
             log("onRequest: BACK");
@@ -79,7 +76,7 @@ public final class ReactNavigationViewModel extends ViewModel {
         }
     };
 
-    private final ElectrodeBridgeRequestHandler<String, None> finishRequestHandler = new ElectrodeBridgeRequestHandler<String, None>() {
+    final ElectrodeBridgeRequestHandler<String, None> finishRequestHandler = new ElectrodeBridgeRequestHandler<String, None>() {
         @Override
         public void onRequest(@Nullable String payload, @NonNull final ElectrodeBridgeResponseListener<None> responseListener) {
             log("onRequest: FINISH");
@@ -93,14 +90,8 @@ public final class ReactNavigationViewModel extends ViewModel {
     };
 
     private void post(final Bundle bundle, @NonNull final ElectrodeBridgeResponseListener<None> responseListener) {
-        if (!routeLiveData.hasActiveObservers()) {
-            // No active observers indicates that the fragment or activity holding this view model instance is not in `RESUMED` state.
-            // We send a successful response in this case to avoid the bridge triggering a failure with a timeout.
-            // One drawback of this approach is that later when the fragment resumes and the request actually fails there is no way to notify the caller.
-            // In that case this response becomes a false positive.
-            responseListener.onSuccess(None.NONE);
-        }
-
+        // Without an active observer the route is kept until the fragment or activity holding this view model resumes,
+        // the caller gets the actual result then.
         Route route = new Route.Builder(bundle)
                 .routingNotifier(new RoutingNotifier() {
                     @Override
@@ -114,7 +105,7 @@ public final class ReactNavigationViewModel extends ViewModel {
                     }
                 })
                 .build();
-        routeLiveData.postValue(route);
+        routeLiveData.enqueue(route);
     }
 
     private boolean validate(@Nullable ErnNavRoute ernRoute, @NonNull ElectrodeBridgeResponseListener<None> responseListener) {
@@ -125,33 +116,19 @@ public final class ReactNavigationViewModel extends ViewModel {
         return true;
     }
 
-    private RequestHandlerHandle requestHandle;
-    private RequestHandlerHandle updateRequestHandle;
-    private RequestHandlerHandle backRequestHandle;
-    private RequestHandlerHandle finishRequestHandle;
-
+    /**
+     * Routes the navigation requests to this view model, until another view model takes the focus.
+     * The request handlers themselves are registered once by {@link NavigationRequestRouter}.
+     */
     public void registerNavRequestHandler() {
-        if (requestHandle == null || !requestHandle.isRegistered()) {
-            log("Registering navigation request handlers");
-            requestHandle = EnNavigationApi.requests().registerNavigateRequestHandler(navRequestHandler);
-            updateRequestHandle = EnNavigationApi.requests().registerUpdateRequestHandler(updateRequestHandler);
-            backRequestHandle = EnNavigationApi.requests().registerBackRequestHandler(backRequestHandler);
-            finishRequestHandle = EnNavigationApi.requests().registerFinishRequestHandler(finishRequestHandler);
-        }
+        NavigationRequestRouter.getInstance().focus(this);
     }
 
+    /**
+     * Stops routing the navigation requests to this view model, if it still has the focus.
+     */
     public void unRegisterNavRequestHandler() {
-        if (requestHandle != null) {
-            log("Unregistering navigation request handlers");
-            requestHandle.unregister();
-            updateRequestHandle.unregister();
-            backRequestHandle.unregister();
-            finishRequestHandle.unregister();
-            requestHandle = null;
-            updateRequestHandle = null;
-            backRequestHandle = null;
-            finishRequestHandle = null;
-        }
+        NavigationRequestRouter.getInstance().clearFocus(this);
     }
 
     public LiveData<Route> getRouteLiveData() {
@@ -162,6 +139,7 @@ public final class ReactNavigationViewModel extends ViewModel {
     protected void onCleared() {
         super.onCleared();
         unRegisterNavRequestHandler();
+        routeLiveData.clear();
     }
 
     private void log(String s) {
@@ -21,6 +21,9 @@ import android.os.Bundle;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public final class Route { //FIXME: The class will implement NavDirections from android jet pack in the future. Enabling it to be future proof once we start using the new architecture components.
     public static final int NONE = -1;
 
@@ -37,6 +40,12 @@ public final class Route { //FIXME: The class will implement NavDirections from
      */
     private RoutingResult result;
 
+    /**
+     * Routes that were collapsed into this one, they complete with the result of this route.
+     */
+    @Nullable
+    private List<Route> supersededRoutes;
+
     Route(Builder builder) {
         this.arguments = builder.arguments;
         this.routingNotifier = builder.routingNotifier;
@@ -69,11 +78,24 @@ public final class Route { //FIXME: The class will implement NavDirections from
                 routingNotifier.routingComplete(result);
                 routingNotifier = null;
             }
+            if (supersededRoutes != null) {
+                for (Route superseded : supersededRoutes) {
+                    superseded.setResult(isSuccess, message);
+                }
+                supersededRoutes = null;
+            }
         } else {
             throw new IllegalStateException("Result is already set for this route. This operation should not be performed again.");
         }
     }
 
+    void addSupersededRoute(@NonNull Route route) {
+        if (supersededRoutes == null) {
+            supersededRoutes = new ArrayList<>();
+        }
+        supersededRoutes.add(route);
+    }
+
     /**
      * Indicates if the routing was handled for this route and a result is set.
      *
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019 Walmart Labs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ern.api.impl.navigation;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.ern.api.impl.navigation.ReactNavigationViewModel.KEY_NAV_TYPE;
+
+/**
+ * {@link LiveData} that delivers every route to its observers, in order, unlike {@link androidx.lifecycle.MutableLiveData#postValue(Object)} which only keeps the latest value.
+ * <p>
+ * Routes can be added from any thread, they are delivered once per frame while an observer is active and kept while none is.
+ * Observers may complete a route asynchronously.
+ * Within a frame, consecutive NAVIGATE routes to the same path and consecutive UPDATE routes for the same path are collapsed into the last one,
+ * the collapsed routes receive the result of the route that was delivered.
+ */
+final class RouteQueueLiveData extends LiveData<Route> implements Choreographer.FrameCallback {
+    private static final String TAG = RouteQueueLiveData.class.getSimpleName();
+    private static final String KEY_PATH = "path";
+
+    private final ConcurrentLinkedQueue<Route> mPendingRoutes = new ConcurrentLinkedQueue<>();
+    // Main thread only, routes of a batch left when the observers became inactive, delivered before the pending ones.
+    private final ArrayDeque<Route> mHeldRoutes = new ArrayDeque<>();
+    private final AtomicBoolean mFrameScheduled = new AtomicBoolean();
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable mScheduleFrame = new Runnable() {
+        @Override
+        public void run() {
+            Choreographer.getInstance().postFrameCallback(RouteQueueLiveData.this);
+        }
+    };
+
+    void enqueue(@NonNull Route route) {
+        mPendingRoutes.offer(route);
+        scheduleDrain();
+    }
+
+    @Override
+    protected void onActive() {
+        super.onActive();
+        if (!mHeldRoutes.isEmpty() || !mPendingRoutes.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        mFrameScheduled.set(false);
+        if (!hasActiveObservers()) {
+            // Kept until an observer becomes active again, see onActive().
+            return;
+        }
+
+        List<Route> batch = collapse();
+        for (int i = 0; i < batch.size(); i++) {
+            if (!hasActiveObservers()) {
+                // A route of this batch paused the observers, the rest waits for them, see onActive().
+                Logger.d(TAG, "Holding %s route(s) until an observer is active", batch.size() - i);
+                for (int j = batch.size() - 1; j >= i; j--) {
+                    mHeldRoutes.addFirst(batch.get(j));
+                }
+                break;
+            }
+            setValue(batch.get(i));
+        }
+    }
+
+    /**
+     * Fails the routes that were never delivered, called when the owner goes away.
+     */
+    @MainThread
+    void clear() {
+        if (mFrameScheduled.getAndSet(false)) {
+            mMainHandler.removeCallbacks(mScheduleFrame);
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+        Route route;
+        while ((route = mHeldRoutes.poll()) != null || (route = mPendingRoutes.poll()) != null) {
+            route.setResult(false, "Navigation request dropped, the screen handling it was destroyed");
+        }
+    }
+
+    private void scheduleDrain() {
+        if (mFrameScheduled.compareAndSet(false, true)) {
+            if (Looper.myLooper() == Looper.getMainLooper()) {
+                mScheduleFrame.run();
+            } else {
+                mMainHandler.post(mScheduleFrame);
+            }
+        }
+    }
+
+    @NonNull
+    private List<Route> collapse() {
+        List<Route> batch = new ArrayList<>();
+        Route route;
+        while ((route = mHeldRoutes.poll()) != null || (route = mPendingRoutes.poll()) != null) {
+            Route last = batch.isEmpty() ? null : batch.get(batch.size() - 1);
+            if (last != null && isSameNavigation(last, route)) {
+                Logger.d(TAG, "Collapsing %s route to %s", route.getArguments().getString(KEY_NAV_TYPE), route.getArguments().getString(KEY_PATH));
+                batch.set(batch.size() - 1, route);
+                route.addSupersededRoute(last);
+            } else {
+                batch.add(route);
+            }
+        }
+        return batch;
+    }
+
+    private static boolean isSameNavigation(@NonNull Route previous, @NonNull Route next) {
+        String type = next.getArguments().getString(KEY_NAV_TYPE);
+        if (!ReactNavigationViewModel.Type.NAVIGATE.toString().equals(type) && !ReactNavigationViewModel.Type.UPDATE.toString().equals(type)) {
+            return false;
+        }
+        String path = next.getArguments().getString(KEY_PATH);
+        return path != null
+                && type.equals(previous.getArguments().getString(KEY_NAV_TYPE))
+                && path.equals(previous.getArguments().getString(KEY_PATH));
+    }
+}
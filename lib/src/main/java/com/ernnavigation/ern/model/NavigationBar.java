@@ -22,6 +22,7 @@ import android.os.Parcelable;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import java.util.List;
+import java.util.Objects;
 
 import com.walmartlabs.electrode.reactnative.bridge.Bridgeable;
 
@@ -143,6 +144,27 @@ public class NavigationBar implements Parcelable, Bridgeable {
                 + "}";
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        NavigationBar that = (NavigationBar) o;
+        return Objects.equals(title, that.title) &&
+                Objects.equals(hide, that.hide) &&
+                Objects.equals(buttons, that.buttons) &&
+                Objects.equals(leftButton, that.leftButton);
+    }
+
+    @Override
+    public int hashCode() {
+        // Not cached, the buttons list is owned by the caller and may change.
+        return Objects.hash(title, hide, buttons, leftButton);
+    }
+
     public static class Builder {
         private final String title;
         private Boolean hide;
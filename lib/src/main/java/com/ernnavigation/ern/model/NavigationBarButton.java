@@ -22,6 +22,7 @@ import android.os.Parcelable;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import java.util.List;
+import java.util.Objects;
 
 import com.walmartlabs.electrode.reactnative.bridge.Bridgeable;
 
@@ -49,6 +50,9 @@ public class NavigationBarButton implements Parcelable, Bridgeable {
     private Boolean disabled;
     private String adaLabel;
 
+    // Cached, the model is immutable once built.
+    private int hash;
+
     private NavigationBarButton() {
     }
 
@@ -199,6 +203,35 @@ public class NavigationBarButton implements Parcelable, Bridgeable {
                 + "}";
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        NavigationBarButton that = (NavigationBarButton) o;
+        return hashCode() == that.hashCode() &&
+                Objects.equals(title, that.title) &&
+                Objects.equals(icon, that.icon) &&
+                Objects.equals(tint, that.tint) &&
+                Objects.equals(id, that.id) &&
+                Objects.equals(location, that.location) &&
+                Objects.equals(disabled, that.disabled) &&
+                Objects.equals(adaLabel, that.adaLabel);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = Objects.hash(title, icon, tint, id, location, disabled, adaLabel);
+            hash = h;
+        }
+        return h;
+    }
+
     public static class Builder {
         private final String id;
         private String title;
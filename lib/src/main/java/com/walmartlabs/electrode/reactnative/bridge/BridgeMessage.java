@@ -37,7 +37,8 @@ public class BridgeMessage {
     public enum Type {
         REQUEST("req"),
         RESPONSE("rsp"),
-        EVENT("event");
+        EVENT("event"),
+        CHUNK("chunk");
 
         private String key;
 
@@ -69,6 +70,7 @@ public class BridgeMessage {
     private final String id;
     private final Type type;
     private final Object data;
+    private int symbol = BridgeSymbolTable.NO_SYMBOL;
 
     protected BridgeMessage(@NonNull String name, @NonNull String id, @NonNull Type type, @Nullable Object data) {
         this.name = name;
@@ -141,6 +143,19 @@ public class BridgeMessage {
         return data;
     }
 
+    /**
+     * Symbol of the message name, resolved once and reused by every table the message is dispatched through.
+     *
+     * @return symbol or {@link BridgeSymbolTable#NO_SYMBOL} if nothing is registered for this name
+     */
+    int getSymbol() {
+        // Benign race, every thread resolves the same value. A miss is not cached as the name may get registered later.
+        if (symbol == BridgeSymbolTable.NO_SYMBOL) {
+            symbol = BridgeSymbolTable.lookup(name);
+        }
+        return symbol;
+    }
+
     /**
      * Returns a writable map representation of {@link BridgeMessage}
      *
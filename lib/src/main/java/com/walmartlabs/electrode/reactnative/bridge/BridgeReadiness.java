@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Completes once the bridge is ready to exchange messages with JS, see {@link ElectrodeBridgeHolder#requireJsReadyAck(long)}.
+ * <p>
+ * Any number of listeners can wait for readiness, from any thread. Listeners are called on the thread that signals readiness,
+ * or right away on the calling thread if the bridge is already ready.
+ */
+public final class BridgeReadiness {
+    private static final String TAG = BridgeReadiness.class.getSimpleName();
+
+    public static final long NOT_READY = -1;
+
+    /**
+     * Waits for readiness with a timeout, only one of the two methods is called.
+     */
+    public interface Awaiter extends ElectrodeBridgeTransceiver.ReactNativeReadyListener {
+        /**
+         * Called on the main thread if the bridge did not get ready in time.
+         */
+        void onTimeout();
+    }
+
+    private final CountDownLatch mLatch = new CountDownLatch(1);
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    // Guarded by this, cleared once ready.
+    private List<ElectrodeBridgeTransceiver.ReactNativeReadyListener> mListeners = new ArrayList<>();
+    private volatile long mReadyTime = NOT_READY;
+    private volatile boolean mAcknowledgedByJs;
+
+    BridgeReadiness() {
+    }
+
+    public boolean isReady() {
+        return mReadyTime != NOT_READY;
+    }
+
+    /**
+     * @return {@link SystemClock#uptimeMillis()} at which the bridge got ready or {@link #NOT_READY}
+     */
+    public long getReadyTime() {
+        return mReadyTime;
+    }
+
+    /**
+     * @return true if readiness was acknowledged by JS, false if it was signalled without waiting for JS or after the acknowledgement timed out.
+     */
+    public boolean isAcknowledgedByJs() {
+        return mAcknowledgedByJs;
+    }
+
+    /**
+     * Calls the listener once the bridge is ready, right away if it is already ready.
+     */
+    public void whenReady(@NonNull ElectrodeBridgeTransceiver.ReactNativeReadyListener listener) {
+        synchronized (this) {
+            if (mListeners != null) {
+                mListeners.add(listener);
+                return;
+            }
+        }
+        listener.onReactNativeReady();
+    }
+
+    /**
+     * Calls {@link Awaiter#onReactNativeReady()} once the bridge is ready, or {@link Awaiter#onTimeout()} if it is not ready within the timeout.
+     *
+     * @param awaiter   {@link Awaiter}
+     * @param timeoutMs Timeout in milliseconds
+     */
+    public void whenReady(@NonNull final Awaiter awaiter, long timeoutMs) {
+        final AtomicBoolean done = new AtomicBoolean();
+        final Runnable timeout = new Runnable() {
+            @Override
+            public void run() {
+                if (done.compareAndSet(false, true)) {
+                    awaiter.onTimeout();
+                }
+            }
+        };
+        mMainHandler.postDelayed(timeout, timeoutMs);
+        whenReady(new ElectrodeBridgeTransceiver.ReactNativeReadyListener() {
+            @Override
+            public void onReactNativeReady() {
+                if (done.compareAndSet(false, true)) {
+                    mMainHandler.removeCallbacks(timeout);
+                    awaiter.onReactNativeReady();
+                }
+            }
+        });
+    }
+
+    /**
+     * Blocks until the bridge is ready. Must not be called from the main thread or the JS thread.
+     *
+     * @return true if the bridge is ready, false if the timeout elapsed first
+     */
+    public boolean await(long timeout, @NonNull TimeUnit unit) throws InterruptedException {
+        return mLatch.await(timeout, unit);
+    }
+
+    /**
+     * Completes the readiness, only the first call has an effect.
+     */
+    void signal(boolean acknowledgedByJs) {
+        List<ElectrodeBridgeTransceiver.ReactNativeReadyListener> listeners;
+        synchronized (this) {
+            if (mListeners == null) {
+                return;
+            }
+            listeners = mListeners;
+            mListeners = null;
+            mAcknowledgedByJs = acknowledgedByJs;
+            mReadyTime = SystemClock.uptimeMillis();
+        }
+        Logger.d(TAG, "Bridge is ready(acknowledgedByJs=%s), notifying %s listener(s)", acknowledgedByJs, listeners.size());
+        mLatch.countDown();
+        for (ElectrodeBridgeTransceiver.ReactNativeReadyListener listener : listeners) {
+            listener.onReactNativeReady();
+        }
+    }
+}
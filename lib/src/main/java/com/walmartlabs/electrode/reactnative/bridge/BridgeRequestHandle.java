@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import androidx.annotation.NonNull;
+
+/**
+ * {@link CancellableRequestHandle} returned by {@link ElectrodeBridgeHolder#sendRequestCancellable(ElectrodeBridgeRequest, ElectrodeBridgeResponseListener)}.
+ */
+class BridgeRequestHandle implements CancellableRequestHandle {
+
+    private final ElectrodeBridgeRequest request;
+
+    BridgeRequestHandle(@NonNull ElectrodeBridgeRequest request) {
+        this.request = request;
+    }
+
+    @Override
+    public boolean cancel() {
+        if (request.cancel()) {
+            ElectrodeBridgeHolder.cancelRequest(request);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return request.isCancelled();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns a small integer id (symbol) to every request and event name that gets a handler or a listener.
+ * <p>
+ * The bridge registrars keep array tables indexed by symbol and {@link BridgeMessage} resolves its symbol once, on first use.
+ * A message still costs one String hash lookup, the tables it goes through (for a request: the handler check and the dispatch)
+ * are then array accesses instead of a String hash lookup each.
+ * Names are only interned on registration, names that are only ever received resolve to {@link #NO_SYMBOL} which keeps the table bounded.
+ */
+final class BridgeSymbolTable {
+
+    static final int NO_SYMBOL = -1;
+
+    private static final ConcurrentHashMap<String, Integer> sSymbolsByName = new ConcurrentHashMap<>();
+    private static int sNextSymbol;
+
+    private BridgeSymbolTable() {
+    }
+
+    /**
+     * @return the symbol of the name, assigning a new one if needed
+     */
+    static int intern(@NonNull String name) {
+        Integer symbol = sSymbolsByName.get(name);
+        if (symbol != null) {
+            return symbol;
+        }
+
+        synchronized (sSymbolsByName) {
+            symbol = sSymbolsByName.get(name);
+            if (symbol == null) {
+                symbol = sNextSymbol++;
+                sSymbolsByName.put(name, symbol);
+            }
+            return symbol;
+        }
+    }
+
+    /**
+     * @return the symbol of the name or {@link #NO_SYMBOL} if nothing was ever registered for it
+     */
+    static int lookup(@NonNull String name) {
+        Integer symbol = sSymbolsByName.get(name);
+        return symbol != null ? symbol : NO_SYMBOL;
+    }
+}
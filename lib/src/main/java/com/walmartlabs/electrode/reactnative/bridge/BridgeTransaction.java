@@ -24,6 +24,9 @@ public class BridgeTransaction {
     private final ElectrodeBridgeRequest request;
     private final ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> finalResponseListener;
     private ElectrodeBridgeResponse response;
+    private int nextChunkSequence;
+    @Nullable
+    private volatile ElectrodeBridgeTransceiver reactInstance;
 
 
     public BridgeTransaction(@NonNull ElectrodeBridgeRequest request, @Nullable ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> responseListener) {
@@ -59,6 +62,32 @@ public class BridgeTransaction {
         return request.getId();
     }
 
+    /**
+     * @return The sequence number to use for the next chunk of a streaming response
+     */
+    synchronized int nextChunkSequence() {
+        return nextChunkSequence++;
+    }
+
+    /**
+     * @return true if the request of this transaction is being handled on the JS side
+     */
+    boolean isDispatchedToReact() {
+        return reactInstance != null;
+    }
+
+    /**
+     * @return The transceiver of the react instance whose JS side handles the request, null if it is not dispatched to JS
+     */
+    @Nullable
+    ElectrodeBridgeTransceiver getReactInstance() {
+        return reactInstance;
+    }
+
+    void setDispatchedToReact(@NonNull ElectrodeBridgeTransceiver reactInstance) {
+        this.reactInstance = reactInstance;
+    }
+
     public boolean isJsInitiated() {
         return request.isJsInitiated();
     }
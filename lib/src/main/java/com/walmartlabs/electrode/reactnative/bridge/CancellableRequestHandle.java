@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+/**
+ * Handle returned when a request is sent.
+ * <p>
+ * Use this handle to cancel the request when its response is no longer needed, for ex: when the screen that sent it goes away.
+ * The response listener of a cancelled request is never called.
+ */
+public interface CancellableRequestHandle {
+    /**
+     * Cancels the request. The cancellation is propagated to the handler of the request, be it native or JS.
+     *
+     * @return true if the request got cancelled, false if it was already cancelled
+     */
+    boolean cancel();
+
+    /**
+     * @return true if {@link #cancel()} was called on this handle
+     */
+    boolean isCancelled();
+}
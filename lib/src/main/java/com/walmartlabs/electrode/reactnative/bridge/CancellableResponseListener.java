@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.os.SystemClock;
+
+/**
+ * Response listener handed over to request handlers, allows a handler to stop working on a request whose response is no longer expected.
+ *
+ * <pre>
+ * if (responseListener instanceof CancellableResponseListener
+ *         &amp;&amp; ((CancellableResponseListener) responseListener).isCancelled()) {
+ *     return;
+ * }
+ * </pre>
+ *
+ * @param <T> response type
+ */
+public interface CancellableResponseListener<T> extends ElectrodeBridgeResponseListener<T> {
+    /**
+     * @return true if the requester cancelled the request, any response sent after this will be dropped.
+     */
+    boolean isCancelled();
+
+    /**
+     * @return Time by which the response is expected in the {@link SystemClock#uptimeMillis()} time base, {@link ElectrodeBridgeRequest#NO_DEADLINE} if the request never times out.
+     */
+    long getDeadline();
+}
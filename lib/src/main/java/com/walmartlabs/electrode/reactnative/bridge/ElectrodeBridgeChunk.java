@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+/**
+ * A partial response of a streaming request.
+ * <p>
+ * Chunks share the id of the request they belong to and carry a sequence number that orders them within the transaction.
+ * The stream is completed by a regular {@link ElectrodeBridgeResponse}.
+ */
+public class ElectrodeBridgeChunk extends ElectrodeBridgeResponse {
+
+    private static final String TAG = ElectrodeBridgeChunk.class.getSimpleName();
+
+    public static final String BRIDGE_MSG_SEQUENCE = "seq";
+
+    private final int sequence;
+
+    @Nullable
+    public static ElectrodeBridgeChunk create(@NonNull ReadableMap messageMap) {
+        ElectrodeBridgeChunk bridgeChunk = null;
+        if (isValid(messageMap, BridgeMessage.Type.CHUNK)) {
+            bridgeChunk = new ElectrodeBridgeChunk(messageMap);
+        } else {
+            Logger.w(TAG, "Unable to createMessage a bridge message, invalid data received(%s)", messageMap);
+        }
+        return bridgeChunk;
+    }
+
+    @NonNull
+    static ElectrodeBridgeChunk createChunkForRequest(@NonNull ElectrodeBridgeRequest request, int sequence, @Nullable Object chunkData) {
+        return new ElectrodeBridgeChunk(request.getName(), request.getId(), sequence, chunkData);
+    }
+
+    private ElectrodeBridgeChunk(@NonNull ReadableMap messageMap) {
+        super(messageMap);
+        sequence = messageMap.hasKey(BRIDGE_MSG_SEQUENCE) ? messageMap.getInt(BRIDGE_MSG_SEQUENCE) : 0;
+    }
+
+    private ElectrodeBridgeChunk(@NonNull String name, @NonNull String id, int sequence, @Nullable Object data) {
+        super(name, id, BridgeMessage.Type.CHUNK, data, null);
+        this.sequence = sequence;
+    }
+
+    /**
+     * Position of this chunk inside the response stream, starting at 0.
+     *
+     * @return int
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    @NonNull
+    @Override
+    public WritableMap map() {
+        WritableMap writableMap = super.map();
+        writableMap.putInt(BRIDGE_MSG_SEQUENCE, sequence);
+        return writableMap;
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + ", seq:" + sequence;
+    }
+}
@@ -16,6 +16,9 @@
 
 package com.walmartlabs.electrode.reactnative.bridge;
 
+import android.os.Handler;
+import android.os.Looper;
+
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
@@ -26,6 +29,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Client facing class.
@@ -46,24 +50,43 @@ public final class ElectrodeBridgeHolder {
     // complete (react native bridge not ready). RN initialization is asynchronous.
     // Doing this greatly simplifies things for the electrode bridge client as he does not
     // have to bother with burdensome code to wait for RN to be ready. We take care of that !
-    // This solution does not really scale in the sense that if the user sends a 1000 requests
-    // upon native app start, it can become problematic. But I don't see why a user would do that
-    // unless it's a bug in its app
+    // Requests and events share a single bounded queue so that they reach the other side in the order
+    // they were sent, see setPreReadyQueueCapacity to tune the capacity and what happens when it is full.
     static final HashMap<String, RequestHandlerPlaceholder> mQueuedRequestHandlersRegistration = new HashMap<>();
     static final HashMap<String, List<EventListenerPlaceholder>> mQueuedEventListenersRegistration = new HashMap<>();
-    static final HashMap<ElectrodeBridgeRequest, ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>> mQueuedRequests = new HashMap<>();
-    static final List<ElectrodeBridgeEvent> mQueuedEvents = new ArrayList<>();
+    static final PreReadyQueue mPreReadyQueue = new PreReadyQueue();
+    private static volatile PersistentEventOutbox persistentEventOutbox;
+    private static final AtomicReference<Runnable> engineStarter = new AtomicReference<>();
+
+    /**
+     * What to do when a request or an event is sent while the pre-ready queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Evicts the oldest queued operation, a dropped request fails with {@link #ERROR_QUEUE_FULL}.
+         */
+        DROP_OLDEST,
+        /**
+         * Rejects the operation being sent, a rejected request fails with {@link #ERROR_QUEUE_FULL}.
+         */
+        DROP_NEWEST
+    }
+
+    public static final String ERROR_QUEUE_FULL = "EQUEUEFULL";
 
     static {
         ElectrodeBridgeTransceiver.registerReactNativeReadyListener(new ElectrodeBridgeTransceiver.ReactNativeReadyListener() {
             @Override
             public void onReactNativeReady() {
                 isReactNativeReady = true;
+                engineStarter.set(null);
                 electrodeNativeBridge = ElectrodeBridgeTransceiver.instance();
                 registerQueuedEventListeners();
                 registerQueuedRequestHandlers();
-                sendQueuedRequests();
-                emitQueuedEvents();
+                mPreReadyQueue.startDraining(electrodeNativeBridge);
+                if (persistentEventOutbox != null) {
+                    persistentEventOutbox.replay();
+                }
             }
         });
 
@@ -76,9 +99,17 @@ public final class ElectrodeBridgeHolder {
      */
     @SuppressWarnings("unused")
     public static void emitEvent(@NonNull ElectrodeBridgeEvent event) {
-        if (!isReactNativeReady) {
+        startEngineIfNeeded();
+        PersistentEventOutbox outbox = persistentEventOutbox;
+        if (!isReactNativeReady && outbox != null && outbox.accepts(event.getName())) {
+            Logger.d(TAG, "Persisting event(%s). Will emit once react native initialization is complete.", event.getName());
+            outbox.append(event);
+            return;
+        }
+
+        if (!mPreReadyQueue.isDrained()) {
             Logger.d(TAG, "Queuing event. Will emit once react native initialization is complete.");
-            mQueuedEvents.add(event);
+            mPreReadyQueue.offer(new QueuedEvent(event));
             return;
         }
 
@@ -95,13 +126,113 @@ public final class ElectrodeBridgeHolder {
     public static void sendRequest(
             @NonNull ElectrodeBridgeRequest request,
             @NonNull final ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> responseListener) {
-        if (!isReactNativeReady) {
+        sendRequestCancellable(request, responseListener);
+    }
+
+    /**
+     * Sends a request
+     *
+     * @param request          The request to send
+     * @param responseListener Listener to be called upon request completion
+     * @return {@link CancellableRequestHandle} that can be used to cancel the request
+     */
+    @NonNull
+    public static CancellableRequestHandle sendRequestCancellable(
+            @NonNull ElectrodeBridgeRequest request,
+            @NonNull final ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> responseListener) {
+        startEngineIfNeeded();
+        // The time spent in the pre-ready queue counts against the timeout of the request.
+        request.startDeadline();
+        if (!mPreReadyQueue.isDrained()) {
             Logger.d(TAG, "Queuing request(%s). Will send once react native initialization is complete.", request);
-            mQueuedRequests.put(request, responseListener);
-            return;
+            mPreReadyQueue.offer(new QueuedRequest(request, responseListener));
+        } else {
+            electrodeNativeBridge.sendRequest(request, responseListener);
+        }
+
+        return new BridgeRequestHandle(request);
+    }
+
+    /**
+     * Sets the hook that starts react native when it is started lazily. It is run once, on the first request or event sent before react native is ready.
+     * Registering request handlers or event listeners does not run it.
+     *
+     * @param starter Starts react native, may be run from any thread.
+     */
+    public static void setEngineStarter(@Nullable Runnable starter) {
+        engineStarter.set(isReactNativeReady ? null : starter);
+    }
+
+    private static void startEngineIfNeeded() {
+        if (!isReactNativeReady) {
+            Runnable starter = engineStarter.getAndSet(null);
+            if (starter != null) {
+                Logger.d(TAG, "Starting react native on first bridge call");
+                starter.run();
+            }
         }
+    }
 
-        electrodeNativeBridge.sendRequest(request, responseListener);
+    static void cancelRequest(@NonNull ElectrodeBridgeRequest request) {
+        // A cancelled request that is still queued is skipped when the queue is drained.
+        if (electrodeNativeBridge instanceof ElectrodeBridgeTransceiver) {
+            ((ElectrodeBridgeTransceiver) electrodeNativeBridge).cancelRequest(request);
+        }
+    }
+
+    /**
+     * Sets the outbox used to persist selected events emitted before react native is ready, so that they are not lost if the process dies.
+     * Events left over by a previous process are replayed once react native is ready. A previously set outbox is closed.
+     *
+     * @param outbox {@link PersistentEventOutbox}
+     */
+    @SuppressWarnings("unused")
+    public static void setPersistentEventOutbox(@NonNull PersistentEventOutbox outbox) {
+        PersistentEventOutbox previous = persistentEventOutbox;
+        persistentEventOutbox = outbox;
+        if (previous != null && previous != outbox) {
+            previous.close();
+        }
+        if (isReactNativeReady) {
+            outbox.replay();
+        }
+    }
+
+    /**
+     * Waits for JS to acknowledge its subscription to the bridge messages, through the {@code acknowledgeReady()} method of the native module,
+     * before the bridge is ready and the queued requests and events are sent. Without it, events sent right after react native is initialized
+     * may be emitted before JS listens to them. Must be called before react native is initialized.
+     *
+     * @param timeoutMs The bridge is considered ready if JS does not acknowledge within this time after react native is initialized.
+     */
+    @SuppressWarnings("unused")
+    public static void requireJsReadyAck(long timeoutMs) {
+        if (timeoutMs <= 0) {
+            throw new IllegalArgumentException("timeoutMs should be greater than 0, received: " + timeoutMs);
+        }
+        ElectrodeBridgeTransceiver.setReadyAckTimeout(timeoutMs);
+    }
+
+    /**
+     * Returns the readiness of the bridge, it can be awaited by any number of callers and records when the bridge got ready.
+     *
+     * @return {@link BridgeReadiness}
+     */
+    @NonNull
+    public static BridgeReadiness getReadiness() {
+        return ElectrodeBridgeTransceiver.readiness();
+    }
+
+    /**
+     * Configures the queue that holds the requests and events sent before react native is ready.
+     * Defaults to a capacity of {@link PreReadyQueue#DEFAULT_CAPACITY} with {@link OverflowPolicy#DROP_NEWEST}.
+     *
+     * @param capacity       Maximum number of queued requests and events
+     * @param overflowPolicy What to do when the queue is full
+     */
+    @SuppressWarnings("unused")
+    public static void setPreReadyQueueCapacity(int capacity, @NonNull OverflowPolicy overflowPolicy) {
+        mPreReadyQueue.configure(capacity, overflowPolicy);
     }
 
     /**
@@ -223,6 +354,18 @@ public final class ElectrodeBridgeHolder {
         }
     }
 
+    /**
+     * Releases the caches kept by the bridge, called when the system is low on memory.
+     * Paged requests that lost their cursor load their first page again.
+     *
+     * @return Number of released entries
+     */
+    public static int releaseCaches() {
+        int released = ElectrodeBridgeTransceiver.pageCursors().clearAll();
+        Logger.d(TAG, "Released %s bridge cache entries", released);
+        return released;
+    }
+
     public static boolean isRegistered(@NonNull UUID requestHandlerUuid) {
         if (!isReactNativeReady) {
             synchronized (mQueuedRequestHandlersRegistration) {
@@ -262,17 +405,54 @@ public final class ElectrodeBridgeHolder {
         mQueuedEventListenersRegistration.clear();
     }
 
-    private static void sendQueuedRequests() {
-        for (Map.Entry<ElectrodeBridgeRequest, ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>> entry : mQueuedRequests.entrySet()) {
-            electrodeNativeBridge.sendRequest(entry.getKey(), entry.getValue());
+    private static final class QueuedRequest implements PreReadyQueue.Operation {
+        private final ElectrodeBridgeRequest request;
+        private final ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> responseListener;
+
+        private QueuedRequest(@NonNull ElectrodeBridgeRequest request, @NonNull ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> responseListener) {
+            this.request = request;
+            this.responseListener = responseListener;
+        }
+
+        @Override
+        public void send(@NonNull ElectrodeNativeBridge bridge) {
+            if (request.isCancelled()) {
+                Logger.d(TAG, "Skipping cancelled request(%s)", request);
+                return;
+            }
+            bridge.sendRequest(request, responseListener);
+        }
+
+        @Override
+        public void drop(@NonNull final String reason) {
+            Logger.w(TAG, "Dropping request(%s): %s", request, reason);
+            // Dropped on the thread of the caller, the failure is delivered on the main thread like any other response.
+            new Handler(Looper.getMainLooper()).post(new Runnable() {
+                @Override
+                public void run() {
+                    if (!request.isCancelled()) {
+                        responseListener.onFailure(BridgeFailureMessage.create(ERROR_QUEUE_FULL, reason));
+                    }
+                }
+            });
         }
-        mQueuedRequests.clear();
     }
 
-    private static void emitQueuedEvents() {
-        for (ElectrodeBridgeEvent event : mQueuedEvents) {
-            electrodeNativeBridge.sendEvent(event);
+    private static final class QueuedEvent implements PreReadyQueue.Operation {
+        private final ElectrodeBridgeEvent event;
+
+        private QueuedEvent(@NonNull ElectrodeBridgeEvent event) {
+            this.event = event;
+        }
+
+        @Override
+        public void send(@NonNull ElectrodeNativeBridge bridge) {
+            bridge.sendEvent(event);
+        }
+
+        @Override
+        public void drop(@NonNull String reason) {
+            Logger.w(TAG, "Dropping event(%s): %s", event, reason);
         }
-        mQueuedEvents.clear();
     }
 }
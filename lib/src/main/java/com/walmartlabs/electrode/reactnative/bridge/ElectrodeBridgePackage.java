@@ -33,11 +33,25 @@ public class ElectrodeBridgePackage implements ReactPackage {
     @VisibleForTesting
     ElectrodeBridgeTransceiver electrodeBridgeTransceiver;
 
+    private final boolean isPrimary;
+
+    public ElectrodeBridgePackage() {
+        this(true);
+    }
+
+    /**
+     * @param isPrimary false for the package of an additional react instance. Native requests are only sent to the JS side of the primary instance,
+     *                  and only the primary instance drives the react native ready state of the bridge.
+     */
+    public ElectrodeBridgePackage(boolean isPrimary) {
+        this.isPrimary = isPrimary;
+    }
+
     @NonNull
     @Override
     public List<NativeModule> createNativeModules(@NonNull ReactApplicationContext reactContext) {
         List<NativeModule> modules = new ArrayList<>();
-        this.electrodeBridgeTransceiver = ElectrodeBridgeTransceiver.create(reactContext);
+        this.electrodeBridgeTransceiver = isPrimary ? ElectrodeBridgeTransceiver.create(reactContext) : ElectrodeBridgeTransceiver.createSecondary(reactContext);
         modules.add(electrodeBridgeTransceiver);
         return modules;
     }
@@ -51,6 +65,9 @@ public class ElectrodeBridgePackage implements ReactPackage {
     //
     // Invoked by ern platform once react native engine is initialized/ready
     public void onReactNativeInitialized() {
+        if (!isPrimary) {
+            return;
+        }
         this.electrodeBridgeTransceiver.onReactNativeInitialized();
     }
 
@@ -16,19 +16,37 @@
 
 package com.walmartlabs.electrode.reactnative.bridge;
 
+import android.os.SystemClock;
+
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+import com.facebook.react.bridge.WritableMap;
 import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
 
 public class ElectrodeBridgeRequest extends BridgeMessage {
     private static final String TAG = ElectrodeBridgeRequest.class.getSimpleName();
     private static final int DEFAULT_REQUEST_TIMEOUT_MS = 5000;
     public static final int NO_TIMEOUT = -1;
+    public static final int NO_STREAMING = 0;
+    public static final int DEFAULT_MAX_CHUNK_SIZE = 50;
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+    /**
+     * Name of the event exchanged between native and JS to cancel a request, the event data is the id of the cancelled request.
+     */
+    public static final String BRIDGE_REQUEST_CANCEL_EVENT = "electrode.bridge.cancel";
+
+    private static final String BRIDGE_REQUEST_CHUNK_SIZE = "chunkSize";
+    // Absolute deadline in epoch millis, the only clock both sides of the bridge share.
+    private static final String BRIDGE_REQUEST_DEADLINE = "deadline";
 
     private final int mTimeoutMs;
+    private final int mMaxChunkSize;
     private boolean isJsInitiated;
+    private volatile long mDeadline = NO_DEADLINE;
+    private volatile boolean mCancelled;
 
     @Nullable
     public static ElectrodeBridgeRequest create(@NonNull ReadableMap messageMap) {
@@ -44,13 +62,18 @@ public class ElectrodeBridgeRequest extends BridgeMessage {
     private ElectrodeBridgeRequest(@NonNull ReadableMap messageMap) {
         super(messageMap);
         mTimeoutMs = NO_TIMEOUT;
+        mMaxChunkSize = messageMap.hasKey(BRIDGE_REQUEST_CHUNK_SIZE) ? messageMap.getInt(BRIDGE_REQUEST_CHUNK_SIZE) : NO_STREAMING;
+        if (messageMap.hasKey(BRIDGE_REQUEST_DEADLINE) && messageMap.getType(BRIDGE_REQUEST_DEADLINE) == ReadableType.Number) {
+            long remainingMs = (long) messageMap.getDouble(BRIDGE_REQUEST_DEADLINE) - System.currentTimeMillis();
+            mDeadline = SystemClock.uptimeMillis() + remainingMs;
+        }
         isJsInitiated = true;
     }
 
     private ElectrodeBridgeRequest(Builder requestBuilder) {
         super(requestBuilder.mName, getUUID(), BridgeMessage.Type.REQUEST, requestBuilder.mData);
         mTimeoutMs = requestBuilder.mTimeoutMs;
-
+        mMaxChunkSize = requestBuilder.mMaxChunkSize;
     }
 
     /**
@@ -60,6 +83,62 @@ public class ElectrodeBridgeRequest extends BridgeMessage {
         return this.mTimeoutMs;
     }
 
+    /**
+     * Indicates if the response of this request can be streamed as a sequence of chunks.
+     *
+     * @return true | false
+     */
+    public boolean isStreaming() {
+        return mMaxChunkSize > NO_STREAMING;
+    }
+
+    /**
+     * @return The maximum number of list items carried by a single response chunk, {@link #NO_STREAMING} for a non streaming request
+     */
+    public int getMaxChunkSize() {
+        return mMaxChunkSize;
+    }
+
+    /**
+     * Returns the time by which a response is expected, in the {@link SystemClock#uptimeMillis()} time base.
+     * Handlers can use it to drop work that will not make it in time.
+     *
+     * @return deadline or {@link #NO_DEADLINE} if the request has no timeout or has not been sent yet
+     */
+    public long getDeadline() {
+        return mDeadline;
+    }
+
+    /**
+     * @return true if the request was cancelled by the requester, the response of a cancelled request is dropped.
+     */
+    public boolean isCancelled() {
+        return mCancelled;
+    }
+
+    /**
+     * Marks this request as cancelled.
+     *
+     * @return false if the request was already cancelled
+     */
+    synchronized boolean cancel() {
+        if (mCancelled) {
+            return false;
+        }
+        mCancelled = true;
+        return true;
+    }
+
+    /**
+     * Starts the deadline clock, called when the request is sent from native or when a JS request is handed over to a handler.
+     * Only the first call has an effect.
+     */
+    void startDeadline() {
+        if (mTimeoutMs != NO_TIMEOUT && mDeadline == NO_DEADLINE) {
+            mDeadline = SystemClock.uptimeMillis() + mTimeoutMs;
+        }
+    }
+
     /**
      * Indicates if a request was initiated by JS.
      *
@@ -69,10 +148,24 @@ public class ElectrodeBridgeRequest extends BridgeMessage {
         return isJsInitiated;
     }
 
+    @NonNull
+    @Override
+    public WritableMap map() {
+        WritableMap writableMap = super.map();
+        if (isStreaming()) {
+            writableMap.putInt(BRIDGE_REQUEST_CHUNK_SIZE, mMaxChunkSize);
+        }
+        if (mDeadline != NO_DEADLINE) {
+            writableMap.putDouble(BRIDGE_REQUEST_DEADLINE, System.currentTimeMillis() + (mDeadline - SystemClock.uptimeMillis()));
+        }
+        return writableMap;
+    }
+
     public static class Builder {
         private final String mName;
         private Object mData;
         private int mTimeoutMs;
+        private int mMaxChunkSize;
 
         /**
          * Initializes a new request builder
@@ -82,6 +175,7 @@ public class ElectrodeBridgeRequest extends BridgeMessage {
         public Builder(String name) {
             mName = name;
             mTimeoutMs = DEFAULT_REQUEST_TIMEOUT_MS;
+            mMaxChunkSize = NO_STREAMING;
             mData = null;
         }
 
@@ -97,6 +191,24 @@ public class ElectrodeBridgeRequest extends BridgeMessage {
             return this;
         }
 
+        /**
+         * Asks for a streaming response. The handler may then emit the response as ordered chunks
+         * followed by a final response, see {@link ElectrodeBridgeStreamingResponseListener}.
+         * <p>
+         * Note that the request timeout applies to the whole stream.
+         *
+         * @param maxChunkSize The maximum number of list items carried by a single chunk
+         * @return Current builder instance for chaining
+         */
+        @SuppressWarnings("unused")
+        public Builder withStreaming(int maxChunkSize) {
+            if (maxChunkSize <= NO_STREAMING) {
+                throw new IllegalArgumentException("maxChunkSize should be greater than 0, received: " + maxChunkSize);
+            }
+            this.mMaxChunkSize = maxChunkSize;
+            return this;
+        }
+
         /**
          * Specifies the request data
          *
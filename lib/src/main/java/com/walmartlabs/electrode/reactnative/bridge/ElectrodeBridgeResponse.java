@@ -60,7 +60,7 @@ public class ElectrodeBridgeResponse extends BridgeMessage {
 
     private final FailureMessage failureMessage;
 
-    private ElectrodeBridgeResponse(ReadableMap messageMap) {
+    protected ElectrodeBridgeResponse(ReadableMap messageMap) {
         super(messageMap);
         Bundle error;
         if (messageMap.hasKey(BRIDGE_MSG_ERROR)
@@ -73,7 +73,7 @@ public class ElectrodeBridgeResponse extends BridgeMessage {
         }
     }
 
-    private ElectrodeBridgeResponse(@NonNull String name, @NonNull String id, @NonNull Type type, @Nullable Object data, @Nullable FailureMessage failureMessage) {
+    protected ElectrodeBridgeResponse(@NonNull String name, @NonNull String id, @NonNull Type type, @Nullable Object data, @Nullable FailureMessage failureMessage) {
         super(name, id, type, data);
         this.failureMessage = failureMessage;
     }
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Response listener that receives a response as a sequence of ordered chunks.
+ * <p>
+ * Chunks are delivered to {@link #onChunk(Object)} in the order they were emitted by the request handler, followed by exactly one
+ * {@link #onSuccess(Object)} or {@link #onFailure(FailureMessage)} call that marks the end of the stream.
+ * <p>
+ * A request handler receives an instance of this listener only when the caller asked for a streaming response,
+ * see {@link ElectrodeBridgeRequest.Builder#withStreaming(int)}. In that case the handler may emit chunks instead of building the whole payload in memory.
+ */
+public interface ElectrodeBridgeStreamingResponseListener<TRsp> extends ElectrodeBridgeResponseListener<TRsp> {
+    /**
+     * Partial response
+     *
+     * @param chunk next chunk of the response {@link TRsp}
+     */
+    void onChunk(@NonNull TRsp chunk);
+}
@@ -16,8 +16,10 @@
 
 package com.walmartlabs.electrode.reactnative.bridge;
 
+import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -28,6 +30,7 @@ import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.ReadableMap;
 import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+import com.walmartlabs.electrode.reactnative.bridge.util.BridgeArguments;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -35,6 +38,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static com.walmartlabs.electrode.reactnative.bridge.ElectrodeBridgeRequest.NO_TIMEOUT;
 
@@ -49,14 +53,22 @@ class ElectrodeBridgeTransceiver extends ReactContextBaseJavaModule implements E
 
     // Singleton instance of the bridge
     private static ElectrodeBridgeTransceiver sInstance;
+    // Transceivers of the additional react instances, see ElectrodeBridgePackage(boolean).
+    private static final List<ElectrodeBridgeTransceiver> sSecondaryInstances = new CopyOnWriteArrayList<>();
 
     private static final ConcurrentHashMap<String, BridgeTransaction> sPendingTransactions = new ConcurrentHashMap<>();
     private static final EventRegistrar<ElectrodeBridgeEventListener<ElectrodeBridgeEvent>> sEventRegistrar = new EventRegistrarImpl<>();
     private static final EventDispatcher sEventDispatcher = new EventDispatcherImpl(sEventRegistrar);
     private static final RequestRegistrar<ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object>> sRequestRegistrar = new RequestRegistrarImpl<>();
-    private static final RequestDispatcher sRequestDispatcher = new RequestDispatcherImpl(sRequestRegistrar);
+    private static final RequestDispatcherImpl sRequestDispatcher = new RequestDispatcherImpl(sRequestRegistrar);
     private static final List<ConstantsProvider> sConstantsProviders = new ArrayList<>();
-    private static boolean sIsReactNativeReady;
+    private static final PageCursorCache sPageCursors = new PageCursorCache();
+    private static final BridgeReadiness sReadiness = new BridgeReadiness();
+    static final long NO_READY_ACK = 0;
+    private static long sReadyAckTimeoutMs = NO_READY_ACK;
+    // Both are needed before readiness is signalled when the JS acknowledgement is required.
+    private static boolean sIsReactNativeInitialized;
+    private static boolean sIsReadyAcknowledgedByJs;
 
     /**
      * Initializes a new instance of ElectrodeBridgeTransceiver
@@ -78,6 +90,20 @@ class ElectrodeBridgeTransceiver extends ReactContextBaseJavaModule implements E
         return create(new ReactContextWrapperInternal(reactApplicationContext));
     }
 
+    /**
+     * Creates the transceiver of an additional react instance.
+     * Native request handlers and event listeners are shared by all the instances. Events are delivered to the JS side of every instance.
+     * Requests sent from native go to the JS side of the singleton instance first, then to the other instances while the JS side answers that it has no handler.
+     * The instance is added once its react instance is initialized.
+     *
+     * @param reactApplicationContext The react application context of the additional instance
+     * @return The transceiver of the additional instance
+     */
+    static ElectrodeBridgeTransceiver createSecondary(ReactApplicationContext reactApplicationContext) {
+        Logger.d(TAG, "Creating ElectrodeBridgeTransceiver instance for an additional react instance");
+        return new ElectrodeBridgeTransceiver(new ReactContextWrapperInternal(reactApplicationContext));
+    }
+
     /**
      * Creates the ElectrodeBridgeTransceiver singleton
      *
@@ -101,6 +127,26 @@ class ElectrodeBridgeTransceiver extends ReactContextBaseJavaModule implements E
         return sInstance;
     }
 
+    @NonNull
+    static BridgeReadiness readiness() {
+        return sReadiness;
+    }
+
+    /**
+     * @param timeoutMs How long to wait for JS to acknowledge its subscription once react native is initialized, {@link #NO_READY_ACK} to not wait.
+     */
+    static synchronized void setReadyAckTimeout(long timeoutMs) {
+        sReadyAckTimeoutMs = timeoutMs;
+    }
+
+    /**
+     * Returns the cursor state of the paged requests, kept outside of the instance so that it survives a react context reload.
+     */
+    @NonNull
+    static PageCursorCache pageCursors() {
+        return sPageCursors;
+    }
+
     /**
      * @return the name of this module. This will be the name used to {@code require()} this module
      * from javascript.
@@ -131,6 +177,22 @@ class ElectrodeBridgeTransceiver extends ReactContextBaseJavaModule implements E
         return super.getConstants();
     }
 
+    @Override
+    public void initialize() {
+        super.initialize();
+        if (this != sInstance) {
+            // Events are relayed to an additional instance only once its react instance is set up.
+            sSecondaryInstances.add(this);
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        // The react instance is going away, its JS side can no longer receive events.
+        sSecondaryInstances.remove(this);
+        super.invalidate();
+    }
+
     @NonNull
     @Override
     public boolean addEventListener(@NonNull String name, @NonNull ElectrodeBridgeEventListener<ElectrodeBridgeEvent> eventListener, @NonNull UUID uuid) {
@@ -190,10 +252,27 @@ class ElectrodeBridgeTransceiver extends ReactContextBaseJavaModule implements E
         Logger.d(TAG, "Emitting event[name:%s id:%s]", event.getName(), event.getId());
 
         notifyReactEventListeners(event);
+        relayToOtherReactInstances(event);
         notifyLocalEventListeners(event);
     }
 
 
+    /**
+     * Emits an event restored from the {@link PersistentEventOutbox}.
+     *
+     * @param name       The event name
+     * @param dataBundle Data of the original event, as generated by {@link BridgeArguments#generateDataBundle(Object)}
+     */
+    void sendPersistedEvent(@NonNull String name, @NonNull Bundle dataBundle) {
+        Logger.d(TAG, "Emitting persisted event[name:%s]", name);
+
+        // The data bundle is already in the shape expected by JS, local listeners expect the original data.
+        ElectrodeBridgeEvent reactEvent = new ElectrodeBridgeEvent.Builder(name).withData(dataBundle).build();
+        notifyReactEventListeners(reactEvent);
+        relayToOtherReactInstances(reactEvent);
+        notifyLocalEventListeners(new ElectrodeBridgeEvent.Builder(name).withData(dataBundle.get(BridgeMessage.BRIDGE_MSG_DATA)).build());
+    }
+
     /**
      * Sends a request
      *
@@ -206,6 +285,46 @@ class ElectrodeBridgeTransceiver extends ReactContextBaseJavaModule implements E
         handleRequest(request, responseListener);
     }
 
+    /**
+     * Cancels a request, the response listener of the request will not be called, and the handler of the request is notified.
+     *
+     * @param request The request to cancel
+     */
+    void cancelRequest(@NonNull ElectrodeBridgeRequest request) {
+        request.cancel();
+        BridgeTransaction transaction = sPendingTransactions.remove(request.getId());
+        if (transaction == null) {
+            Logger.d(TAG, "Cancel ignored, request(id=%s) is no longer pending", request.getId());
+            return;
+        }
+
+        Logger.d(TAG, "Cancelled request(id=%s, name=%s)", request.getId(), request.getName());
+        ElectrodeBridgeTransceiver reactInstance = transaction.getReactInstance();
+        if (reactInstance != null) {
+            reactInstance.mReactContextWrapper.emitEvent(new ElectrodeBridgeEvent.Builder(ElectrodeBridgeRequest.BRIDGE_REQUEST_CANCEL_EVENT).withData(request.getId()).build());
+        }
+    }
+
+    /**
+     * Called by JS once it subscribed to the bridge messages, see {@link ElectrodeBridgeHolder#requireJsReadyAck(long)}.
+     * Calls from additional react instances are ignored.
+     */
+    @ReactMethod
+    public void acknowledgeReady() {
+        if (this != sInstance) {
+            // Only the singleton instance drives readiness, see ElectrodeBridgePackage(boolean).
+            return;
+        }
+        Logger.d(TAG, "JS acknowledged its subscription to the bridge messages");
+        // Readiness is signalled on the main thread, as it is when JS is not waited for.
+        new Handler(Looper.getMainLooper()).post(new Runnable() {
+            @Override
+            public void run() {
+                onReadyAcknowledgedByJs();
+            }
+        });
+    }
+
     /**
      * This method is used by react native to dispatch an event on the native side.
      * <p>
@@ -222,9 +341,13 @@ class ElectrodeBridgeTransceiver extends ReactContextBaseJavaModule implements E
             switch (type) {
                 case EVENT:
                     ElectrodeBridgeEvent event = ElectrodeBridgeEvent.create(data);
-                    if (event != null) {
+                    if (event != null && ElectrodeBridgeRequest.BRIDGE_REQUEST_CANCEL_EVENT.equals(event.getName())) {
+                        Logger.d(TAG, "Received message is a request cancellation(%s)", event.getData());
+                        handleCancelFromReact(event);
+                    } else if (event != null) {
                         Logger.d(TAG, "Received message is an EVENT(name=%s), will notify local event listeners.", event.getName());
                         notifyLocalEventListeners(event);
+                        relayToOtherReactInstances(event);
                     } else {
                         throw new IllegalArgumentException("Unable to construct event from data");
                     }
@@ -248,6 +371,16 @@ class ElectrodeBridgeTransceiver extends ReactContextBaseJavaModule implements E
                         throw new IllegalArgumentException("Unable to construct a response from data");
                     }
 
+                    break;
+                case CHUNK:
+                    ElectrodeBridgeChunk chunk = ElectrodeBridgeChunk.create(data);
+                    if (chunk != null) {
+                        Logger.d(TAG, "Received message is a CHUNK(seq=%s) for a request(name=%s, id=%s)", chunk.getSequence(), chunk.getName(), chunk.getId());
+                        handleChunk(chunk);
+                    } else {
+                        throw new IllegalArgumentException("Unable to construct a chunk from data");
+                    }
+
                     break;
             }
         } else {
@@ -264,19 +397,34 @@ class ElectrodeBridgeTransceiver extends ReactContextBaseJavaModule implements E
 
         final BridgeTransaction bridgeTransaction = createTransaction(request, responseListener);
 
-        if (sRequestDispatcher.canHandleRequest(request.getName())) {
+        if (sRequestDispatcher.canHandleRequest(request)) {
             dispatchRequestToLocalHandler(bridgeTransaction);
         } else if (!request.isJsInitiated()) {//GOTCHA: Should not send a request back JS if it was initiated from JS side.
-            dispatchRequestToReact(bridgeTransaction);
+            dispatchRequestToReact(bridgeTransaction, nextReactInstance(null));
         } else {
             Logger.d(TAG, "No handler available to handle the request(id=%s, name=%s). Will fail the request", request.getId(), request.getName());
             handleResponse(ElectrodeBridgeResponse.createResponseForRequest(request, null, BridgeFailureMessage.create("ENOHANDLER", "No registered request handler found for " + request.getName())));
         }
     }
 
+    private void handleCancelFromReact(@NonNull ElectrodeBridgeEvent cancelEvent) {
+        if (!(cancelEvent.getData() instanceof String)) {
+            Logger.w(TAG, "Ignoring cancellation, expected a request id but received(%s)", cancelEvent.getData());
+            return;
+        }
+
+        BridgeTransaction transaction = sPendingTransactions.get(cancelEvent.getData());
+        if (transaction != null && transaction.isJsInitiated()) {
+            // Only JS can cancel its own requests, the handler will see it through CancellableResponseListener.
+            transaction.getRequest().cancel();
+            sPendingTransactions.remove(transaction.getId());
+        }
+    }
+
     @NonNull
     private BridgeTransaction createTransaction(@NonNull ElectrodeBridgeRequest request, @Nullable ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> responseListener) {
         final BridgeTransaction bridgeTransaction = new BridgeTransaction(request, responseListener);
+        request.startDeadline();
         sPendingTransactions.put(request.getId(), bridgeTransaction);
         startTimeOutCheckForTransaction(bridgeTransaction);
         return bridgeTransaction;
@@ -290,7 +438,7 @@ class ElectrodeBridgeTransceiver extends ReactContextBaseJavaModule implements E
                     Logger.d(TAG, "Checking timeout for request(id=%s)", transaction.getRequest().getId());
                     handleResponse(ElectrodeBridgeResponse.createResponseForRequest(transaction.getRequest(), null, BridgeFailureMessage.create("EREQUESTTIMEOUT", "Request timeout")));
                 }
-            }, transaction.getRequest().getTimeoutMs());
+            }, Math.max(0, transaction.getRequest().getDeadline() - SystemClock.uptimeMillis()));
         } else {
             Logger.d(TAG, "NO_TIMEOUT request, Will skip timeout check for request(%s)", transaction.getRequest());
         }
@@ -300,30 +448,50 @@ class ElectrodeBridgeTransceiver extends ReactContextBaseJavaModule implements E
         Logger.d(TAG, "Sending request(id=%s) to local handler", transaction.getRequest().getId());
 
         final ElectrodeBridgeRequest request = transaction.getRequest();
-        sRequestDispatcher.dispatchRequest(transaction.getRequest(), new ElectrodeBridgeResponseListener<Object>() {
-            @Override
-            public void onFailure(@NonNull FailureMessage failureMessage) {
-                ElectrodeBridgeResponse response = ElectrodeBridgeResponse.createResponseForRequest(request, null, failureMessage);
-                handleResponse(response);
-            }
-
-            @Override
-            public void onSuccess(@Nullable Object responseData) {
-                ElectrodeBridgeResponse response = ElectrodeBridgeResponse.createResponseForRequest(request, responseData, null);
-                handleResponse(response);
-            }
-        });
-
+        sRequestDispatcher.dispatchRequest(request, request.isStreaming() ? new LocalStreamingResponseListener(transaction) : new LocalResponseListener(transaction));
     }
 
-    private void dispatchRequestToReact(@NonNull BridgeTransaction bridgeTransaction) {
+    private void dispatchRequestToReact(@NonNull BridgeTransaction bridgeTransaction, @Nullable ElectrodeBridgeTransceiver reactInstance) {
         Logger.d(TAG, "Sending request(id=%s) over to JS side as there is no local request handler available", bridgeTransaction.getId());
-        mReactContextWrapper.emitEvent(bridgeTransaction.getRequest());
+        if (reactInstance == null) {
+            // No additional instance is set up, the singleton instance queues the request as it did before.
+            reactInstance = this;
+        }
+        bridgeTransaction.setDispatchedToReact(reactInstance);
+        reactInstance.mReactContextWrapper.emitEvent(bridgeTransaction.getRequest());
+    }
+
+    /**
+     * @return The first react instance after {@code current} whose JS side can receive the request, the singleton instance coming first.
+     */
+    @Nullable
+    private static ElectrodeBridgeTransceiver nextReactInstance(@Nullable ElectrodeBridgeTransceiver current) {
+        List<ElectrodeBridgeTransceiver> instances = new ArrayList<>(sSecondaryInstances.size() + 1);
+        if (sInstance != null) {
+            instances.add(sInstance);
+        }
+        instances.addAll(sSecondaryInstances);
+        for (int i = instances.indexOf(current) + 1; i < instances.size(); i++) {
+            if (instances.get(i).mReactContextWrapper.hasActiveReactInstance()) {
+                return instances.get(i);
+            }
+        }
+        return null;
     }
 
     private void handleResponse(@NonNull ElectrodeBridgeResponse bridgeResponse) {
         Logger.d(TAG, "Handling bridge response");
         BridgeTransaction transaction = sPendingTransactions.get(bridgeResponse.getId());
+        if (transaction != null && transaction.getReactInstance() != null
+                && bridgeResponse.getFailureMessage() != null && "ENOHANDLER".equals(bridgeResponse.getFailureMessage().getCode())) {
+            // The JS side of this instance has no handler, the request might be handled by another react instance.
+            ElectrodeBridgeTransceiver next = nextReactInstance(transaction.getReactInstance());
+            if (next != null) {
+                Logger.d(TAG, "No JS handler for request(id=%s, name=%s), trying the next react instance", bridgeResponse.getId(), bridgeResponse.getName());
+                dispatchRequestToReact(transaction, next);
+                return;
+            }
+        }
         if (transaction != null) {
             transaction.setResponse(bridgeResponse);
             completeTransaction(transaction);
@@ -333,6 +501,48 @@ class ElectrodeBridgeTransceiver extends ReactContextBaseJavaModule implements E
 
     }
 
+    /**
+     * Splits the chunk emitted by a local request handler to honor the max chunk size of the request.
+     */
+    private void handleChunkFromLocalHandler(@NonNull BridgeTransaction transaction, @NonNull Object chunkData) {
+        final ElectrodeBridgeRequest request = transaction.getRequest();
+        final int maxChunkSize = request.getMaxChunkSize();
+        if (chunkData instanceof List && ((List<?>) chunkData).size() > maxChunkSize) {
+            List<?> items = (List<?>) chunkData;
+            for (int from = 0; from < items.size(); from += maxChunkSize) {
+                List<Object> slice = new ArrayList<Object>(items.subList(from, Math.min(from + maxChunkSize, items.size())));
+                handleChunk(ElectrodeBridgeChunk.createChunkForRequest(request, transaction.nextChunkSequence(), slice));
+            }
+        } else {
+            handleChunk(ElectrodeBridgeChunk.createChunkForRequest(request, transaction.nextChunkSequence(), chunkData));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handleChunk(@NonNull final ElectrodeBridgeChunk chunk) {
+        final BridgeTransaction transaction = sPendingTransactions.get(chunk.getId());
+        if (transaction == null) {
+            Logger.i(TAG, "Chunk(seq=%s, id=%s, name=%s) will be ignored as the transaction for this request has already been removed from the queue. Perhaps it's already timed-out or completed", chunk.getSequence(), chunk.getId(), chunk.getName());
+            return;
+        }
+
+        if (transaction.isJsInitiated()) {
+            mReactContextWrapper.emitEvent(chunk);
+        } else if (transaction.getFinalResponseListener() instanceof ElectrodeBridgeStreamingResponseListener) {
+            final ElectrodeBridgeStreamingResponseListener<ElectrodeBridgeResponse> listener = (ElectrodeBridgeStreamingResponseListener<ElectrodeBridgeResponse>) transaction.getFinalResponseListener();
+            mReactContextWrapper.runOnUiQueueThread(new Runnable() {
+                @Override
+                public void run() {
+                    if (!transaction.getRequest().isCancelled()) {
+                        listener.onChunk(chunk);
+                    }
+                }
+            });
+        } else {
+            Logger.w(TAG, "Chunk(seq=%s) for request(id=%s) will be ignored as the response listener does not support streaming", chunk.getSequence(), chunk.getId());
+        }
+    }
+
     private void notifyLocalEventListeners(@NonNull final ElectrodeBridgeEvent event) {
         mReactContextWrapper.runOnUiQueueThread(new Runnable() {
             @Override
@@ -346,6 +556,25 @@ class ElectrodeBridgeTransceiver extends ReactContextBaseJavaModule implements E
         mReactContextWrapper.emitEvent(event);
     }
 
+    /**
+     * Emits the event to the JS side of the react instances other than this one, if the container runs more than one.
+     */
+    private void relayToOtherReactInstances(@NonNull ElectrodeBridgeEvent event) {
+        if (sSecondaryInstances.isEmpty()) {
+            return;
+        }
+        // Instances being set up or reloaded are skipped, emitting to them throws.
+        ElectrodeBridgeTransceiver primary = sInstance;
+        if (primary != null && primary != this && primary.mReactContextWrapper.hasActiveReactInstance()) {
+            primary.notifyReactEventListeners(event);
+        }
+        for (ElectrodeBridgeTransceiver transceiver : sSecondaryInstances) {
+            if (transceiver != this && transceiver.mReactContextWrapper.hasActiveReactInstance()) {
+                transceiver.notifyReactEventListeners(event);
+            }
+        }
+    }
+
     private void completeTransaction(@NonNull final BridgeTransaction transaction) {
         if (transaction.getResponse() == null) {
             throw new IllegalArgumentException("Cannot complete transaction, a transaction can only be completed with a valid response.");
@@ -367,6 +596,10 @@ class ElectrodeBridgeTransceiver extends ReactContextBaseJavaModule implements E
                     mReactContextWrapper.runOnUiQueueThread(new Runnable() {
                         @Override
                         public void run() {
+                            if (transaction.getRequest().isCancelled()) {
+                                Logger.d(TAG, "Dropping failure of cancelled request(%s)", transaction.getId());
+                                return;
+                            }
                             transaction.getFinalResponseListener().onFailure(response.getFailureMessage());
                         }
                     });
@@ -375,6 +608,10 @@ class ElectrodeBridgeTransceiver extends ReactContextBaseJavaModule implements E
                     mReactContextWrapper.runOnUiQueueThread(new Runnable() {
                         @Override
                         public void run() {
+                            if (transaction.getRequest().isCancelled()) {
+                                Logger.d(TAG, "Dropping response of cancelled request(%s)", transaction.getId());
+                                return;
+                            }
                             transaction.getFinalResponseListener().onSuccess(response);
                         }
                     });
@@ -395,28 +632,99 @@ class ElectrodeBridgeTransceiver extends ReactContextBaseJavaModule implements E
         Logger.d(TAG, "<-- <-- <-- <-- <-- Response(id=%s, name=%s, data=%s, error=%s) received", response.getId(), response.getName(), response.getData(), response.getFailureMessage());
     }
 
+    /**
+     * Completes the transaction of a request dispatched to a local request handler.
+     */
+    private class LocalResponseListener implements CancellableResponseListener<Object> {
+        final BridgeTransaction mTransaction;
+
+        private LocalResponseListener(@NonNull BridgeTransaction transaction) {
+            mTransaction = transaction;
+        }
+
+        @Override
+        public void onFailure(@NonNull FailureMessage failureMessage) {
+            ElectrodeBridgeResponse response = ElectrodeBridgeResponse.createResponseForRequest(mTransaction.getRequest(), null, failureMessage);
+            handleResponse(response);
+        }
+
+        @Override
+        public void onSuccess(@Nullable Object responseData) {
+            ElectrodeBridgeResponse response = ElectrodeBridgeResponse.createResponseForRequest(mTransaction.getRequest(), responseData, null);
+            handleResponse(response);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return mTransaction.getRequest().isCancelled();
+        }
+
+        @Override
+        public long getDeadline() {
+            return mTransaction.getRequest().getDeadline();
+        }
+    }
+
+    /**
+     * Handed over to the local request handler when the request asked for a streaming response.
+     */
+    private class LocalStreamingResponseListener extends LocalResponseListener implements ElectrodeBridgeStreamingResponseListener<Object> {
+        private LocalStreamingResponseListener(@NonNull BridgeTransaction transaction) {
+            super(transaction);
+        }
+
+        @Override
+        public void onChunk(@NonNull Object chunk) {
+            handleChunkFromLocalHandler(mTransaction, chunk);
+        }
+    }
+
     public interface ReactNativeReadyListener {
         void onReactNativeReady();
     }
 
-    private static ReactNativeReadyListener sReactNativeReadyListener;
-
+    /**
+     * Calls the listener once the bridge is ready, right away if it is already ready. Any number of listeners can be registered.
+     */
     public static void registerReactNativeReadyListener(ReactNativeReadyListener listener) {
-        // If react native initialization is already completed, just call listener
-        // immediately
-        if (sIsReactNativeReady) {
-            listener.onReactNativeReady();
+        sReadiness.whenReady(listener);
+    }
+
+    public void onReactNativeInitialized() {
+        final long ackTimeoutMs;
+        final boolean isReadyAcknowledgedByJs;
+        synchronized (ElectrodeBridgeTransceiver.class) {
+            sIsReactNativeInitialized = true;
+            ackTimeoutMs = sReadyAckTimeoutMs;
+            isReadyAcknowledgedByJs = sIsReadyAcknowledgedByJs;
         }
-        // Else it will get invoked whenever react native initialization is done
-        else {
-            sReactNativeReadyListener = listener;
+        if (ackTimeoutMs == NO_READY_ACK) {
+            sReadiness.signal(false);
+        } else if (isReadyAcknowledgedByJs) {
+            sReadiness.signal(true);
+        } else {
+            Logger.d(TAG, "Waiting up to %sms for JS to acknowledge its subscription to the bridge messages", ackTimeoutMs);
+            new Handler(Looper.getMainLooper()).postDelayed(new Runnable() {
+                @Override
+                public void run() {
+                    if (!sReadiness.isReady()) {
+                        Logger.w(TAG, "JS did not acknowledge its subscription to the bridge messages within %sms, the bridge is considered ready", ackTimeoutMs);
+                        sReadiness.signal(false);
+                    }
+                }
+            }, ackTimeoutMs);
         }
     }
 
-    public void onReactNativeInitialized() {
-        sIsReactNativeReady = true;
-        if (sReactNativeReadyListener != null) {
-            sReactNativeReadyListener.onReactNativeReady();
+    private static void onReadyAcknowledgedByJs() {
+        boolean isReactNativeInitialized;
+        synchronized (ElectrodeBridgeTransceiver.class) {
+            sIsReadyAcknowledgedByJs = true;
+            isReactNativeInitialized = sIsReactNativeInitialized;
+        }
+        // The JS bundle may acknowledge before the react context initialized listeners run.
+        if (isReactNativeInitialized) {
+            sReadiness.signal(true);
         }
     }
 
@@ -20,6 +20,8 @@ import androidx.annotation.NonNull;
 
 import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
 
+import java.util.List;
+
 public class EventDispatcherImpl implements EventDispatcher {
 
     private static final String TAG = EventDispatcherImpl.class.getSimpleName();
@@ -30,9 +32,15 @@ public class EventDispatcherImpl implements EventDispatcher {
         mEventRegistrar = eventRegistrar;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public void dispatchEvent(@NonNull ElectrodeBridgeEvent bridgeEvent) {
-        for (ElectrodeBridgeEventListener<ElectrodeBridgeEvent> eventListener : mEventRegistrar.getEventListeners(bridgeEvent.getName())) {
+        // Indexed loop over the registrar snapshot, no iterator allocation on the dispatch path.
+        List<ElectrodeBridgeEventListener<ElectrodeBridgeEvent>> eventListeners = mEventRegistrar instanceof EventRegistrarImpl
+                ? ((EventRegistrarImpl<ElectrodeBridgeEventListener<ElectrodeBridgeEvent>>) mEventRegistrar).getEventListeners(bridgeEvent.getSymbol())
+                : mEventRegistrar.getEventListeners(bridgeEvent.getName());
+        for (int i = 0, size = eventListeners.size(); i < size; i++) {
+            ElectrodeBridgeEventListener<ElectrodeBridgeEvent> eventListener = eventListeners.get(i);
             Logger.d(TAG, "Event dispatcher is dispatching event(%s), id(%s) to listener(%s)", bridgeEvent.getName(), bridgeEvent.getId(), eventListener);
             eventListener.onEvent(bridgeEvent);
         }
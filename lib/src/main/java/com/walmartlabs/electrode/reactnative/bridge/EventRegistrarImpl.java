@@ -21,14 +21,24 @@ import androidx.annotation.VisibleForTesting;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Event listeners are kept in copy-on-write tables per event name: {@link #getEventListeners(String)} returns an immutable snapshot
+ * without locking or copying, and a registration change only publishes a new snapshot.
+ * A {@link UUID} index and the slot kept by each registration make unregistering and id lookups independent of the number of registered listeners.
+ * The tables are also indexed by the {@link BridgeSymbolTable} symbol of the event name for the dispatch path.
+ */
 public class EventRegistrarImpl<T> implements EventRegistrar<T> {
-    private final ConcurrentHashMap<UUID, T> mEventListenerByUUID = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, List<T>> mEventListenersByEventName = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ListenerTable<T>> mListenerTablesByEventName = new ConcurrentHashMap<>();
+    private final SymbolIndexedTable<ListenerTable<T>> mListenerTablesBySymbol = new SymbolIndexedTable<>();
+    private final ConcurrentHashMap<UUID, Registration<T>> mRegistrationsByUUID = new ConcurrentHashMap<>();
+    // Live UUIDs of each listener, oldest registration first. A listener can be registered under several UUIDs.
+    private final Map<T, List<UUID>> mUUIDsByEventListener = new HashMap<>();
 
     /**
      * Registers an event listener
@@ -40,17 +50,34 @@ public class EventRegistrarImpl<T> implements EventRegistrar<T> {
      */
     @NonNull
     public boolean registerEventListener(@NonNull String name, @NonNull T eventListener, @NonNull UUID eventListenerUuid) {
-        boolean isRegistered;
-        if (mEventListenersByEventName.containsKey(name)) {
-            mEventListenersByEventName.get(name).add(eventListener);
-        } else {
-            List<T> eventListeners = new ArrayList<>();
-            eventListeners.add(eventListener);
-            mEventListenersByEventName.put(name, eventListeners);
+        ListenerTable<T> table = mListenerTablesByEventName.get(name);
+        if (table == null) {
+            ListenerTable<T> newTable = new ListenerTable<>();
+            table = mListenerTablesByEventName.putIfAbsent(name, newTable);
+            if (table == null) {
+                table = newTable;
+                mListenerTablesBySymbol.set(BridgeSymbolTable.intern(name), newTable);
+            }
+        }
+
+        Registration<T> registration = new Registration<>(table, eventListener);
+        Registration<T> previous = mRegistrationsByUUID.put(eventListenerUuid, registration);
+        if (previous != null) {
+            previous.table.remove(previous);
+        }
+        table.add(registration);
+        synchronized (mUUIDsByEventListener) {
+            if (previous != null) {
+                removeUUID(previous.listener, eventListenerUuid);
+            }
+            List<UUID> uuids = mUUIDsByEventListener.get(eventListener);
+            if (uuids == null) {
+                uuids = new ArrayList<>(1);
+                mUUIDsByEventListener.put(eventListener, uuids);
+            }
+            uuids.add(eventListenerUuid);
         }
-        mEventListenerByUUID.put(eventListenerUuid, eventListener);
-        isRegistered = true;
-        return isRegistered;
+        return true;
     }
 
     /**
@@ -60,16 +87,16 @@ public class EventRegistrarImpl<T> implements EventRegistrar<T> {
      * @return eventListener unregistered
      */
     public T unregisterEventListener(@NonNull UUID eventListenerUuid) {
-        T eventListener = mEventListenerByUUID.remove(eventListenerUuid);
-        if (eventListener != null) {
-            for (List<T> eventListeners : mEventListenersByEventName.values()) {
-                if (eventListeners.contains(eventListener)) {
-                    eventListeners.remove(eventListener);
-                    break;
-                }
-            }
+        Registration<T> registration = mRegistrationsByUUID.remove(eventListenerUuid);
+        if (registration == null) {
+            return null;
+        }
+
+        registration.table.remove(registration);
+        synchronized (mUUIDsByEventListener) {
+            removeUUID(registration.listener, eventListenerUuid);
         }
-        return eventListener;
+        return registration.listener;
     }
 
     /**
@@ -78,27 +105,46 @@ public class EventRegistrarImpl<T> implements EventRegistrar<T> {
      * @param name The name of the event
      * @return A list of event listeners registered for the given event name or an empty list if no
      * <p>
-     * event listeners are currently registered for this event name
+     * event listeners are currently registered for this event name. The list is an immutable snapshot, it is not affected by later registration changes.
      */
     @NonNull
     @Override
     public List<T> getEventListeners(@NonNull String name) {
-        if (!mEventListenersByEventName.containsKey(name)) {
-            return Collections.emptyList();
-        }
+        ListenerTable<T> table = mListenerTablesByEventName.get(name);
+        return table != null ? table.mListeners : Collections.<T>emptyList();
+    }
 
-        return Collections.unmodifiableList(mEventListenersByEventName.get(name));
+    /**
+     * @param symbol Symbol of the event name, see {@link BridgeMessage#getSymbol()}
+     * @return A list of event listeners or an empty list if no event listeners are currently registered
+     */
+    @NonNull
+    List<T> getEventListeners(int symbol) {
+        ListenerTable<T> table = mListenerTablesBySymbol.get(symbol);
+        return table != null ? table.mListeners : Collections.<T>emptyList();
     }
 
     @NonNull
     @Override
     public UUID getEventListenerId(@NonNull T eventListener) {
-        for (Map.Entry entry : mEventListenerByUUID.entrySet()) {
-            if (eventListener != null && eventListener.equals(entry.getValue())) {
-                return (UUID) entry.getKey();
+        if (eventListener == null) {
+            return null;
+        }
+        synchronized (mUUIDsByEventListener) {
+            List<UUID> uuids = mUUIDsByEventListener.get(eventListener);
+            return uuids != null ? uuids.get(0) : null;
+        }
+    }
+
+    // Must be called with mUUIDsByEventListener locked.
+    private void removeUUID(@NonNull T eventListener, @NonNull UUID eventListenerUuid) {
+        List<UUID> uuids = mUUIDsByEventListener.get(eventListener);
+        if (uuids != null) {
+            uuids.remove(eventListenerUuid);
+            if (uuids.isEmpty()) {
+                mUUIDsByEventListener.remove(eventListener);
             }
         }
-        return null;
     }
 
     /**
@@ -106,7 +152,70 @@ public class EventRegistrarImpl<T> implements EventRegistrar<T> {
      */
     @VisibleForTesting
     void reset() {
-        mEventListenerByUUID.clear();
-        mEventListenersByEventName.clear();
+        for (ListenerTable<T> table : mListenerTablesByEventName.values()) {
+            table.clear();
+        }
+        mRegistrationsByUUID.clear();
+        synchronized (mUUIDsByEventListener) {
+            mUUIDsByEventListener.clear();
+        }
+    }
+
+    private static final class Registration<T> {
+        final ListenerTable<T> table;
+        final T listener;
+        // Index of the registration in its table, guarded by the table.
+        int slot = -1;
+
+        Registration(@NonNull ListenerTable<T> table, @NonNull T listener) {
+            this.table = table;
+            this.listener = listener;
+        }
+    }
+
+    /**
+     * Listeners of a single event name. Writers synchronize on the table, readers only read the volatile snapshot.
+     * Tables are never removed from the registrar so that a concurrent registration can not end up in a detached table.
+     */
+    private static final class ListenerTable<T> {
+        private List<Registration<T>> mRegistrations = Collections.emptyList();
+        private volatile List<T> mListeners = Collections.emptyList();
+
+        synchronized void add(@NonNull Registration<T> registration) {
+            List<Registration<T>> registrations = new ArrayList<>(mRegistrations.size() + 1);
+            registrations.addAll(mRegistrations);
+            registrations.add(registration);
+            publish(registrations);
+        }
+
+        synchronized void remove(@NonNull Registration<T> registration) {
+            int slot = registration.slot;
+            // Identity matters here, the same listener can be registered more than once.
+            if (slot < 0 || slot >= mRegistrations.size() || mRegistrations.get(slot) != registration) {
+                return;
+            }
+            List<Registration<T>> registrations = new ArrayList<>(mRegistrations);
+            registrations.remove(slot);
+            registration.slot = -1;
+            publish(registrations);
+        }
+
+        synchronized void clear() {
+            for (Registration<T> registration : mRegistrations) {
+                registration.slot = -1;
+            }
+            publish(Collections.<Registration<T>>emptyList());
+        }
+
+        private void publish(@NonNull List<Registration<T>> registrations) {
+            List<T> listeners = new ArrayList<>(registrations.size());
+            for (int i = 0; i < registrations.size(); i++) {
+                Registration<T> registration = registrations.get(i);
+                registration.slot = i;
+                listeners.add(registration.listener);
+            }
+            mRegistrations = registrations;
+            mListeners = Collections.unmodifiableList(listeners);
+        }
     }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.walmartlabs.electrode.reactnative.bridge.util.BridgeArguments;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A single page of a list-returning request.
+ * <p>
+ * The {@link #getCursor()} is opaque to the caller, it should only be handed back to the request handler (through {@link PageRequest}) to get the next page.
+ *
+ * @param <T> list item type, any type supported by {@link BridgeArguments#updateBundleWithList(List, Bundle, String)}
+ */
+public class Page<T> implements Bridgeable {
+
+    static final String KEY_ITEMS = "items";
+    static final String KEY_CURSOR = "cursor";
+    static final String KEY_HAS_MORE = "hasMore";
+
+    private final List<T> items;
+    @Nullable
+    private final String cursor;
+    private final boolean hasMore;
+
+    public Page(@NonNull List<T> items, @Nullable String cursor, boolean hasMore) {
+        this.items = Collections.unmodifiableList(items);
+        this.cursor = cursor;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Creates a page from a bundle representation received from the other side of the bridge.
+     *
+     * @param bundle    bundle generated by {@link #toBundle()} or by the JS side
+     * @param itemClass list item type
+     * @return Page
+     */
+    @SuppressWarnings("unchecked")
+    @NonNull
+    public static <T> Page<T> fromBundle(@NonNull Bundle bundle, @NonNull Class<T> itemClass) {
+        List<T> items = (List<T>) BridgeArguments.getList(bundle.get(KEY_ITEMS), itemClass);
+        return new Page<>(items, bundle.getString(KEY_CURSOR), bundle.getBoolean(KEY_HAS_MORE));
+    }
+
+    /**
+     * Helper for request handlers that already have the whole list in memory, returns the slice of the {@code source} that is requested by the {@code pageRequest}.
+     * The cursor generated by this method is an offset and is only meaningful to this method.
+     *
+     * @param source      full list
+     * @param pageRequest requested page
+     * @return Page
+     */
+    @NonNull
+    public static <T> Page<T> of(@NonNull List<T> source, @NonNull PageRequest pageRequest) {
+        int from = 0;
+        if (pageRequest.getCursor() != null) {
+            try {
+                from = Integer.parseInt(pageRequest.getCursor());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + pageRequest.getCursor());
+            }
+        }
+        from = Math.max(0, Math.min(from, source.size()));
+        int to = Math.min(source.size(), from + pageRequest.getPageSize());
+        boolean hasMore = to < source.size();
+        return new Page<>(new ArrayList<>(source.subList(from, to)), hasMore ? String.valueOf(to) : null, hasMore);
+    }
+
+    @NonNull
+    public List<T> getItems() {
+        return items;
+    }
+
+    @Nullable
+    public String getCursor() {
+        return cursor;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    @NonNull
+    @Override
+    public Bundle toBundle() {
+        Bundle bundle = new Bundle();
+        BridgeArguments.updateBundleWithList(items, bundle, KEY_ITEMS);
+        if (cursor != null) {
+            bundle.putString(KEY_CURSOR, cursor);
+        }
+        bundle.putBoolean(KEY_HAS_MORE, hasMore);
+        return bundle;
+    }
+
+    @Override
+    public String toString() {
+        return "Page{" +
+                "items=" + items.size() +
+                ", cursor='" + cursor + '\'' +
+                ", hasMore=" + hasMore +
+                '}';
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the cursor state of paged requests so that a list can be loaded incrementally across screens without the caller holding on to the cursor.
+ * Entries are keyed by request name and a caller supplied paging key, least recently used entries are dropped once {@link #MAX_ENTRIES} is reached.
+ */
+final class PageCursorCache {
+
+    static final int MAX_ENTRIES = 64;
+
+    static final class Entry {
+        @Nullable
+        final String cursor;
+        final boolean hasMore;
+
+        private Entry(@Nullable String cursor, boolean hasMore) {
+            this.cursor = cursor;
+            this.hasMore = hasMore;
+        }
+    }
+
+    private final Map<String, Entry> mEntries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    @Nullable
+    synchronized Entry get(@NonNull String requestName, @NonNull String pagingKey) {
+        return mEntries.get(key(requestName, pagingKey));
+    }
+
+    synchronized void update(@NonNull String requestName, @NonNull String pagingKey, @NonNull Page<?> page) {
+        mEntries.put(key(requestName, pagingKey), new Entry(page.getCursor(), page.hasMore()));
+    }
+
+    synchronized void clear(@NonNull String requestName, @NonNull String pagingKey) {
+        mEntries.remove(key(requestName, pagingKey));
+    }
+
+    /**
+     * @return Number of dropped entries
+     */
+    synchronized int clearAll() {
+        int size = mEntries.size();
+        mEntries.clear();
+        return size;
+    }
+
+    @NonNull
+    private static String key(@NonNull String requestName, @NonNull String pagingKey) {
+        return requestName + '#' + pagingKey;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.walmartlabs.electrode.reactnative.bridge.util.BridgeArguments;
+
+/**
+ * Request payload of a paged request. Carries the page size and the opaque cursor returned by the previous {@link Page}.
+ * A {@code null} cursor asks for the first page.
+ */
+public class PageRequest implements Bridgeable {
+
+    static final String KEY_PAGE_SIZE = "pageSize";
+    static final String KEY_CURSOR = "cursor";
+
+    private final int pageSize;
+    @Nullable
+    private final String cursor;
+
+    public PageRequest(int pageSize, @Nullable String cursor) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize should be greater than 0, received: " + pageSize);
+        }
+        this.pageSize = pageSize;
+        this.cursor = cursor;
+    }
+
+    public PageRequest(@NonNull Bundle bundle) {
+        Number size = BridgeArguments.getNumberValue(bundle, KEY_PAGE_SIZE);
+        if (size == null || size.intValue() <= 0) {
+            throw new IllegalArgumentException("pageSize property is required and should be greater than 0");
+        }
+        this.pageSize = size.intValue();
+        this.cursor = bundle.getString(KEY_CURSOR);
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    @Nullable
+    public String getCursor() {
+        return cursor;
+    }
+
+    @NonNull
+    @Override
+    public Bundle toBundle() {
+        Bundle bundle = new Bundle();
+        bundle.putInt(KEY_PAGE_SIZE, pageSize);
+        if (cursor != null) {
+            bundle.putString(KEY_CURSOR, cursor);
+        }
+        return bundle;
+    }
+
+    @Override
+    public String toString() {
+        return "PageRequest{" +
+                "pageSize=" + pageSize +
+                ", cursor='" + cursor + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Processes a paged request, every call to {@link #execute()} loads the next {@link Page} of the list.
+ * <p>
+ * The cursor of the last received page is cached by the transceiver against the request name and the paging key,
+ * so a new processor created with the same paging key (for ex: after a configuration change) continues where the previous one stopped.
+ * Call {@link #reset()} to start over from the first page.
+ *
+ * @param <TItem> list item type
+ */
+public class PagedRequestProcessor<TItem> {
+    private final String TAG = PagedRequestProcessor.class.getSimpleName();
+
+    static final String ERROR_PAGE_IN_PROGRESS = "EPAGEINPROGRESS";
+    static final String ERROR_INVALID_PAGE = "EINVALIDPAGE";
+
+    private final String requestName;
+    private final String pagingKey;
+    private final int pageSize;
+    private final Class<TItem> itemClass;
+    private final ElectrodeBridgeResponseListener<Page<TItem>> responseListener;
+    private final AtomicBoolean inFlight = new AtomicBoolean();
+
+    public PagedRequestProcessor(@NonNull String requestName, @NonNull String pagingKey, int pageSize, @NonNull Class<TItem> itemClass, @NonNull ElectrodeBridgeResponseListener<Page<TItem>> responseListener) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize should be greater than 0, received: " + pageSize);
+        }
+        this.requestName = requestName;
+        this.pagingKey = pagingKey;
+        this.pageSize = pageSize;
+        this.itemClass = itemClass;
+        this.responseListener = responseListener;
+    }
+
+    /**
+     * Requests the next page. Once the last page has been received this completes with an empty page without going over the bridge.
+     */
+    public void execute() {
+        PageCursorCache.Entry entry = ElectrodeBridgeTransceiver.pageCursors().get(requestName, pagingKey);
+        if (entry != null && !entry.hasMore) {
+            Logger.d(TAG, "No more pages for request(%s), key(%s)", requestName, pagingKey);
+            responseListener.onSuccess(new Page<>(Collections.<TItem>emptyList(), null, false));
+            return;
+        }
+
+        if (!inFlight.compareAndSet(false, true)) {
+            responseListener.onFailure(BridgeFailureMessage.create(ERROR_PAGE_IN_PROGRESS, "A page of request(" + requestName + ") is already being loaded"));
+            return;
+        }
+
+        PageRequest pageRequest = new PageRequest(pageSize, entry != null ? entry.cursor : null);
+        Logger.d(TAG, "Paged request processor requesting %s for request(%s), key(%s)", pageRequest, requestName, pagingKey);
+        ElectrodeBridgeHolder.sendRequest(new ElectrodeBridgeRequest.Builder(requestName).withData(pageRequest).build(), new ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>() {
+            @Override
+            public void onFailure(@NonNull FailureMessage failureMessage) {
+                inFlight.set(false);
+                responseListener.onFailure(failureMessage);
+            }
+
+            @Override
+            public void onSuccess(@Nullable ElectrodeBridgeResponse bridgeResponse) {
+                Page<TItem> page = null;
+                IllegalArgumentException error = null;
+                try {
+                    if (bridgeResponse == null) {
+                        throw new IllegalArgumentException("BridgeResponse cannot be null, should never reach here");
+                    }
+                    page = toPage(bridgeResponse.getData());
+                    ElectrodeBridgeTransceiver.pageCursors().update(requestName, pagingKey, page);
+                } catch (IllegalArgumentException e) {
+                    error = e;
+                } finally {
+                    // Cleared before the listener runs, so that it can request the next page.
+                    inFlight.set(false);
+                }
+                if (error != null) {
+                    Logger.w(TAG, "Paged request processor received an invalid page for request(%s): %s", requestName, error.getMessage());
+                    responseListener.onFailure(BridgeFailureMessage.create(ERROR_INVALID_PAGE, "Invalid page received for request(" + requestName + ")", error));
+                    return;
+                }
+                Logger.d(TAG, "Paged request processor received %s for request(%s)", page, requestName);
+                responseListener.onSuccess(page);
+            }
+        });
+    }
+
+    /**
+     * Drops the cached cursor, the next {@link #execute()} loads the first page again.
+     */
+    public void reset() {
+        ElectrodeBridgeTransceiver.pageCursors().clear(requestName, pagingKey);
+    }
+
+    @SuppressWarnings("unchecked")
+    @NonNull
+    private Page<TItem> toPage(@Nullable Object data) {
+        if (data instanceof Page) {
+            return (Page<TItem>) data;
+        } else if (data instanceof Bundle) {
+            return Page.fromBundle((Bundle) data, itemClass);
+        } else if (data == null) {
+            return new Page<>(Collections.<TItem>emptyList(), null, false);
+        }
+        throw new IllegalArgumentException("Expected a Page for request(" + requestName + "), received: " + data);
+    }
+}
@@ -0,0 +1,550 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.content.Context;
+import android.os.Bundle;
+import android.os.Parcelable;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+import com.walmartlabs.electrode.reactnative.bridge.util.BridgeArguments;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Durable queue for events emitted through {@link ElectrodeBridgeHolder#emitEvent(ElectrodeBridgeEvent)} before react native is ready.
+ * <p>
+ * Only the event names passed to {@link Builder#eventNames(String...)} go through the outbox, other events stay in the in-memory pre-ready queue.
+ * Events are appended to a memory-mapped log on a background thread, so the emitting thread never waits on disk I/O.
+ * The log is flushed to disk every {@link Builder#syncIntervalMs(long)} and replayed into the bridge once react native is ready,
+ * including the events left over by a previous process.
+ * <p>
+ * Log layout: a header made of a magic number and the offset of the first undelivered record,
+ * followed by records of {@code [length][crc32][payload]} terminated by a zero length. A record with a bad checksum
+ * (torn write) ends the log. The payload is the event as JSON, each bundle value tagged with its type, so that the log stays readable
+ * across platform and app updates.
+ */
+public final class PersistentEventOutbox {
+    private static final String TAG = PersistentEventOutbox.class.getSimpleName();
+
+    // Logs written with an older record format are reset.
+    private static final int MAGIC = 0x45524e32;
+    private static final int HEADER_SIZE = 8;
+    private static final int READ_OFFSET_POSITION = 4;
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private static final String KEY_NAME = "name";
+    private static final String KEY_DATA = "data";
+    private static final String KEY_TYPE = "t";
+    private static final String KEY_VALUE = "v";
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final File file;
+    private final int capacityBytes;
+    private final Set<String> eventNames;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    // Only touched from the executor thread.
+    private MappedByteBuffer buffer;
+    private int readOffset;
+    private int writeOffset;
+    private boolean dirty;
+
+    private volatile boolean isBridgeReady;
+    private volatile boolean isClosed;
+
+    private PersistentEventOutbox(@NonNull Builder builder) {
+        this.file = new File(builder.context.getFilesDir(), builder.fileName);
+        this.capacityBytes = builder.capacityBytes;
+        this.eventNames = Collections.unmodifiableSet(new HashSet<>(builder.eventNames));
+        executor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                sync();
+            }
+        }, builder.syncIntervalMs, builder.syncIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return true if events with this name should go through the outbox
+     */
+    public boolean accepts(@NonNull String eventName) {
+        return eventNames.contains(eventName);
+    }
+
+    /**
+     * Persists the event, returns immediately.
+     */
+    void append(@NonNull final ElectrodeBridgeEvent event) {
+        if (isClosed) {
+            Logger.w(TAG, "Event outbox is closed, dropping event(%s)", event.getName());
+            return;
+        }
+        final Bundle record = new Bundle();
+        record.putString(KEY_NAME, event.getName());
+        record.putBundle(KEY_DATA, BridgeArguments.generateDataBundle(event.getData()));
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                byte[] payload = marshall(record);
+                if (payload != null && open()) {
+                    write(payload);
+                    if (isBridgeReady) {
+                        deliverPending();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Replays the persisted events into the bridge, events appended after this call are delivered as soon as they are persisted.
+     */
+    void replay() {
+        if (isClosed) {
+            return;
+        }
+        isBridgeReady = true;
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (open()) {
+                    deliverPending();
+                }
+            }
+        });
+    }
+
+    /**
+     * Flushes the log to disk and stops the background thread of the outbox, events appended afterwards are dropped.
+     * Events persisted and not delivered yet are replayed by the next outbox using the same file.
+     */
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                sync();
+            }
+        });
+        executor.shutdown();
+    }
+
+    @WorkerThread
+    private boolean open() {
+        if (buffer != null) {
+            return true;
+        }
+
+        try {
+            RandomAccessFile raf = new RandomAccessFile(file, "rw");
+            try {
+                if (raf.length() < capacityBytes) {
+                    raf.setLength(capacityBytes);
+                }
+                buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacityBytes);
+            } finally {
+                // The mapping stays valid after the channel is closed.
+                raf.close();
+            }
+        } catch (IOException e) {
+            Logger.w(TAG, "Unable to open event outbox(%s): %s", file, e.getMessage());
+            return false;
+        }
+
+        if (buffer.getInt(0) != MAGIC) {
+            reset();
+        } else {
+            readOffset = buffer.getInt(READ_OFFSET_POSITION);
+            if (readOffset < HEADER_SIZE || readOffset > capacityBytes) {
+                reset();
+            } else {
+                writeOffset = readOffset;
+                while (readRecord(writeOffset) != null) {
+                    writeOffset += RECORD_HEADER_SIZE + buffer.getInt(writeOffset);
+                }
+                terminate(writeOffset);
+                Logger.d(TAG, "Opened event outbox with %s pending byte(s)", writeOffset - readOffset);
+            }
+        }
+        return true;
+    }
+
+    @WorkerThread
+    private void write(@NonNull byte[] payload) {
+        int recordSize = RECORD_HEADER_SIZE + payload.length;
+        if (writeOffset + recordSize + 4 > capacityBytes) {
+            compact();
+            if (writeOffset + recordSize + 4 > capacityBytes) {
+                Logger.w(TAG, "Event outbox is full, dropping an event of %s byte(s)", payload.length);
+                return;
+            }
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        // Terminator first and length last so that a partially written record is never followed.
+        terminate(writeOffset + recordSize);
+        ByteBuffer target = buffer.duplicate();
+        target.position(writeOffset + RECORD_HEADER_SIZE);
+        target.put(payload);
+        buffer.putInt(writeOffset + 4, (int) crc.getValue());
+        buffer.putInt(writeOffset, payload.length);
+        writeOffset += recordSize;
+        dirty = true;
+    }
+
+    @WorkerThread
+    private void deliverPending() {
+        ElectrodeBridgeTransceiver transceiver = ElectrodeBridgeTransceiver.instance();
+        byte[] payload;
+        while (readOffset < writeOffset && (payload = readRecord(readOffset)) != null) {
+            Bundle record = unmarshall(payload);
+            if (record != null && record.getString(KEY_NAME) != null) {
+                Bundle data = record.getBundle(KEY_DATA);
+                transceiver.sendPersistedEvent(record.getString(KEY_NAME), data != null ? data : Bundle.EMPTY);
+            }
+            readOffset += RECORD_HEADER_SIZE + payload.length;
+            buffer.putInt(READ_OFFSET_POSITION, readOffset);
+            dirty = true;
+        }
+        compact();
+        sync();
+    }
+
+    @Nullable
+    @WorkerThread
+    private byte[] readRecord(int offset) {
+        if (offset + RECORD_HEADER_SIZE > capacityBytes) {
+            return null;
+        }
+        int length = buffer.getInt(offset);
+        if (length <= 0 || offset + RECORD_HEADER_SIZE + length > capacityBytes) {
+            return null;
+        }
+
+        byte[] payload = new byte[length];
+        ByteBuffer source = buffer.duplicate();
+        source.position(offset + RECORD_HEADER_SIZE);
+        source.get(payload);
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue() == buffer.getInt(offset + 4) ? payload : null;
+    }
+
+    /**
+     * Moves the undelivered records to the start of the log.
+     */
+    @WorkerThread
+    private void compact() {
+        if (readOffset == HEADER_SIZE) {
+            return;
+        }
+
+        int pending = writeOffset - readOffset;
+        if (pending > 0) {
+            byte[] records = new byte[pending];
+            ByteBuffer source = buffer.duplicate();
+            source.position(readOffset);
+            source.get(records);
+            ByteBuffer target = buffer.duplicate();
+            target.position(HEADER_SIZE);
+            target.put(records);
+        }
+        writeOffset = HEADER_SIZE + pending;
+        readOffset = HEADER_SIZE;
+        terminate(writeOffset);
+        buffer.putInt(READ_OFFSET_POSITION, readOffset);
+        dirty = true;
+    }
+
+    @WorkerThread
+    private void reset() {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(READ_OFFSET_POSITION, HEADER_SIZE);
+        terminate(HEADER_SIZE);
+        readOffset = HEADER_SIZE;
+        writeOffset = HEADER_SIZE;
+        dirty = true;
+    }
+
+    @WorkerThread
+    private void terminate(int offset) {
+        if (offset + 4 <= capacityBytes) {
+            buffer.putInt(offset, 0);
+        }
+    }
+
+    @WorkerThread
+    private void sync() {
+        if (dirty && buffer != null) {
+            buffer.force();
+            dirty = false;
+        }
+    }
+
+    @Nullable
+    private static byte[] marshall(@NonNull Bundle record) {
+        try {
+            return toJson(record).toString().getBytes(UTF_8);
+        } catch (JSONException e) {
+            Logger.w(TAG, "Unable to persist event(%s): %s", record.getString(KEY_NAME), e.getMessage());
+            return null;
+        }
+    }
+
+    @Nullable
+    private static Bundle unmarshall(@NonNull byte[] payload) {
+        try {
+            return fromJson(new JSONObject(new String(payload, UTF_8)));
+        } catch (JSONException e) {
+            Logger.w(TAG, "Skipping an unreadable event record: %s", e.getMessage());
+            return null;
+        }
+    }
+
+    @NonNull
+    private static JSONObject toJson(@NonNull Bundle bundle) throws JSONException {
+        JSONObject json = new JSONObject();
+        for (String key : bundle.keySet()) {
+            Object value = bundle.get(key);
+            if (value == null) {
+                continue;
+            }
+            JSONObject entry = new JSONObject();
+            if (value instanceof String) {
+                entry.put(KEY_TYPE, "string").put(KEY_VALUE, value);
+            } else if (value instanceof Boolean) {
+                entry.put(KEY_TYPE, "boolean").put(KEY_VALUE, value);
+            } else if (value instanceof Integer) {
+                entry.put(KEY_TYPE, "int").put(KEY_VALUE, value);
+            } else if (value instanceof Long) {
+                // Kept as a string, a JSON number may not hold a long.
+                entry.put(KEY_TYPE, "long").put(KEY_VALUE, String.valueOf(value));
+            } else if (value instanceof Float || value instanceof Double) {
+                entry.put(KEY_TYPE, value instanceof Float ? "float" : "double").put(KEY_VALUE, String.valueOf(value));
+            } else if (value instanceof Bundle) {
+                entry.put(KEY_TYPE, "bundle").put(KEY_VALUE, toJson((Bundle) value));
+            } else if (value instanceof String[]) {
+                entry.put(KEY_TYPE, "string[]").put(KEY_VALUE, new JSONArray(Arrays.asList((String[]) value)));
+            } else if (value instanceof int[]) {
+                entry.put(KEY_TYPE, "int[]").put(KEY_VALUE, new JSONArray(value));
+            } else if (value instanceof boolean[]) {
+                entry.put(KEY_TYPE, "boolean[]").put(KEY_VALUE, new JSONArray(value));
+            } else if (value instanceof double[] || value instanceof float[]) {
+                JSONArray array = new JSONArray();
+                if (value instanceof double[]) {
+                    for (double item : (double[]) value) {
+                        array.put(String.valueOf(item));
+                    }
+                } else {
+                    for (float item : (float[]) value) {
+                        array.put(String.valueOf(item));
+                    }
+                }
+                entry.put(KEY_TYPE, value instanceof float[] ? "float[]" : "double[]").put(KEY_VALUE, array);
+            } else if (value instanceof Parcelable[]) {
+                JSONArray array = new JSONArray();
+                for (Parcelable item : (Parcelable[]) value) {
+                    if (!(item instanceof Bundle)) {
+                        throw new JSONException("Unsupported array item " + item + " for key " + key);
+                    }
+                    array.put(toJson((Bundle) item));
+                }
+                entry.put(KEY_TYPE, "bundle[]").put(KEY_VALUE, array);
+            } else {
+                throw new JSONException("Unsupported value type " + value.getClass().getName() + " for key " + key);
+            }
+            json.put(key, entry);
+        }
+        return json;
+    }
+
+    @NonNull
+    private static Bundle fromJson(@NonNull JSONObject json) throws JSONException {
+        Bundle bundle = new Bundle();
+        JSONArray keys = json.names();
+        for (int i = 0; keys != null && i < keys.length(); i++) {
+            String key = keys.getString(i);
+            JSONObject entry = json.getJSONObject(key);
+            String type = entry.getString(KEY_TYPE);
+            switch (type) {
+                case "string":
+                    bundle.putString(key, entry.getString(KEY_VALUE));
+                    break;
+                case "boolean":
+                    bundle.putBoolean(key, entry.getBoolean(KEY_VALUE));
+                    break;
+                case "int":
+                    bundle.putInt(key, entry.getInt(KEY_VALUE));
+                    break;
+                case "long":
+                    bundle.putLong(key, Long.parseLong(entry.getString(KEY_VALUE)));
+                    break;
+                case "float":
+                    bundle.putFloat(key, Float.parseFloat(entry.getString(KEY_VALUE)));
+                    break;
+                case "double":
+                    bundle.putDouble(key, Double.parseDouble(entry.getString(KEY_VALUE)));
+                    break;
+                case "bundle":
+                    bundle.putBundle(key, fromJson(entry.getJSONObject(KEY_VALUE)));
+                    break;
+                default:
+                    putArray(bundle, key, type, entry.getJSONArray(KEY_VALUE));
+            }
+        }
+        return bundle;
+    }
+
+    private static void putArray(@NonNull Bundle bundle, @NonNull String key, @NonNull String type, @NonNull JSONArray array) throws JSONException {
+        int length = array.length();
+        switch (type) {
+            case "string[]":
+                String[] strings = new String[length];
+                for (int i = 0; i < length; i++) {
+                    strings[i] = array.getString(i);
+                }
+                bundle.putStringArray(key, strings);
+                break;
+            case "int[]":
+                int[] ints = new int[length];
+                for (int i = 0; i < length; i++) {
+                    ints[i] = array.getInt(i);
+                }
+                bundle.putIntArray(key, ints);
+                break;
+            case "boolean[]":
+                boolean[] booleans = new boolean[length];
+                for (int i = 0; i < length; i++) {
+                    booleans[i] = array.getBoolean(i);
+                }
+                bundle.putBooleanArray(key, booleans);
+                break;
+            case "double[]":
+                double[] doubles = new double[length];
+                for (int i = 0; i < length; i++) {
+                    doubles[i] = Double.parseDouble(array.getString(i));
+                }
+                bundle.putDoubleArray(key, doubles);
+                break;
+            case "float[]":
+                float[] floats = new float[length];
+                for (int i = 0; i < length; i++) {
+                    floats[i] = Float.parseFloat(array.getString(i));
+                }
+                bundle.putFloatArray(key, floats);
+                break;
+            case "bundle[]":
+                Bundle[] bundles = new Bundle[length];
+                for (int i = 0; i < length; i++) {
+                    bundles[i] = fromJson(array.getJSONObject(i));
+                }
+                bundle.putParcelableArray(key, bundles);
+                break;
+            default:
+                throw new JSONException("Unsupported value type " + type + " for key " + key);
+        }
+    }
+
+    public static class Builder {
+        private final Context context;
+        private String fileName = "electrode_event_outbox.log";
+        private int capacityBytes = 256 * 1024;
+        private long syncIntervalMs = 1000;
+        private final Set<String> eventNames = new HashSet<>();
+
+        public Builder(@NonNull Context context) {
+            this.context = context.getApplicationContext();
+        }
+
+        /**
+         * @param eventNames Names of the events that should survive a process death
+         * @return Current builder instance for chaining
+         */
+        public Builder eventNames(@NonNull String... eventNames) {
+            this.eventNames.addAll(Arrays.asList(eventNames));
+            return this;
+        }
+
+        /**
+         * @param fileName Name of the log file, created in {@link Context#getFilesDir()}
+         * @return Current builder instance for chaining
+         */
+        @SuppressWarnings("unused")
+        public Builder fileName(@NonNull String fileName) {
+            this.fileName = fileName;
+            return this;
+        }
+
+        /**
+         * @param capacityBytes Size of the log, events that do not fit are dropped
+         * @return Current builder instance for chaining
+         */
+        @SuppressWarnings("unused")
+        public Builder capacityBytes(int capacityBytes) {
+            if (capacityBytes <= HEADER_SIZE + RECORD_HEADER_SIZE) {
+                throw new IllegalArgumentException("capacityBytes is too small: " + capacityBytes);
+            }
+            this.capacityBytes = capacityBytes;
+            return this;
+        }
+
+        /**
+         * @param syncIntervalMs How often the log is flushed to disk, events appended since the last flush can be lost if the device (not the app) goes down
+         * @return Current builder instance for chaining
+         */
+        @SuppressWarnings("unused")
+        public Builder syncIntervalMs(long syncIntervalMs) {
+            if (syncIntervalMs <= 0) {
+                throw new IllegalArgumentException("syncIntervalMs should be greater than 0, received: " + syncIntervalMs);
+            }
+            this.syncIntervalMs = syncIntervalMs;
+            return this;
+        }
+
+        public PersistentEventOutbox build() {
+            return new PersistentEventOutbox(this);
+        }
+    }
+}
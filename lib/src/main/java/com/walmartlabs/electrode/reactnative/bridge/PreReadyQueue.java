@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the requests and events sent before react native is ready, in the order they were sent.
+ * <p>
+ * Any thread can add to the queue. Once react native is ready the queue is drained on the main thread
+ * in batches of {@link #DRAIN_BATCH_SIZE}, each batch in its own message so that a large backlog does not block the UI thread.
+ * Operations sent while a drain is in progress are queued behind the backlog to keep the send order.
+ */
+final class PreReadyQueue {
+    private static final String TAG = PreReadyQueue.class.getSimpleName();
+
+    static final int DEFAULT_CAPACITY = 1024;
+    static final int DRAIN_BATCH_SIZE = 32;
+
+    /**
+     * A queued request or event.
+     */
+    interface Operation {
+        /**
+         * Sends the operation over the bridge once react native is ready.
+         */
+        void send(@NonNull ElectrodeNativeBridge bridge);
+
+        /**
+         * Called when the operation is evicted because the queue is full, on the thread that offered the newer operation.
+         */
+        void drop(@NonNull String reason);
+    }
+
+    private final ConcurrentLinkedQueue<Operation> mQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger mSize = new AtomicInteger();
+    private final AtomicBoolean mDrainScheduled = new AtomicBoolean();
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    private final Runnable mDrainBatch = new Runnable() {
+        @Override
+        public void run() {
+            drainBatch();
+        }
+    };
+
+    private volatile int mCapacity = DEFAULT_CAPACITY;
+    private volatile ElectrodeBridgeHolder.OverflowPolicy mOverflowPolicy = ElectrodeBridgeHolder.OverflowPolicy.DROP_NEWEST;
+    private volatile ElectrodeNativeBridge mBridge;
+    private volatile boolean mDrained;
+
+    void configure(int capacity, @NonNull ElectrodeBridgeHolder.OverflowPolicy overflowPolicy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity should be greater than 0, received: " + capacity);
+        }
+        mCapacity = capacity;
+        mOverflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * @return true once every queued operation has been handed over to the bridge, new operations should be sent directly from then on.
+     */
+    boolean isDrained() {
+        return mDrained;
+    }
+
+    int size() {
+        return mSize.get();
+    }
+
+    void offer(@NonNull Operation operation) {
+        while (true) {
+            int size = mSize.get();
+            if (size < mCapacity) {
+                if (mSize.compareAndSet(size, size + 1)) {
+                    mQueue.offer(operation);
+                    break;
+                }
+            } else if (mOverflowPolicy == ElectrodeBridgeHolder.OverflowPolicy.DROP_OLDEST) {
+                Operation oldest = mQueue.poll();
+                if (oldest == null) {
+                    // The counted operations are still being added by other threads, nothing can be evicted yet.
+                    operation.drop("Pre-ready queue is full(capacity=" + mCapacity + ")");
+                    return;
+                }
+                mSize.decrementAndGet();
+                oldest.drop("Dropped from a full pre-ready queue(capacity=" + mCapacity + ") to make room for a newer operation");
+            } else {
+                operation.drop("Pre-ready queue is full(capacity=" + mCapacity + ")");
+                return;
+            }
+        }
+
+        // The drain may have completed between the caller checking isDrained() and the offer above.
+        if (mDrained) {
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * Starts draining the queue into the given bridge.
+     */
+    void startDraining(@NonNull ElectrodeNativeBridge bridge) {
+        Logger.d(TAG, "Draining %s queued operation(s)", mSize.get());
+        mBridge = bridge;
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (mDrainScheduled.compareAndSet(false, true)) {
+            mHandler.post(mDrainBatch);
+        }
+    }
+
+    private void drainBatch() {
+        mDrainScheduled.set(false);
+        for (int i = 0; i < DRAIN_BATCH_SIZE; i++) {
+            Operation operation = mQueue.poll();
+            if (operation == null) {
+                break;
+            }
+            mSize.decrementAndGet();
+            operation.send(mBridge);
+        }
+
+        if (!mQueue.isEmpty()) {
+            scheduleDrain();
+        } else if (!mDrained) {
+            mDrained = true;
+            Logger.d(TAG, "Pre-ready queue drained");
+        }
+    }
+}
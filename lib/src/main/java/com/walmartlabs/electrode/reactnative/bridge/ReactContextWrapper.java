@@ -31,6 +31,11 @@ interface ReactContextWrapper {
 
     void runOnUiQueueThread(@NonNull Runnable runnable);
 
+    /**
+     * @return true if the JS side of the context can receive events, false while the react instance is being set up or torn down.
+     */
+    boolean hasActiveReactInstance();
+
     @NonNull
     ReactApplicationContext getContext();
 }
@@ -44,6 +44,11 @@ public class ReactContextWrapperInternal implements ReactContextWrapper {
         mReactApplicationContext.runOnUiQueueThread(runnable);
     }
 
+    @Override
+    public boolean hasActiveReactInstance() {
+        return mReactApplicationContext.hasActiveCatalystInstance();
+    }
+
     @NonNull
     @Override
     public ReactApplicationContext getContext() {
@@ -17,6 +17,7 @@
 package com.walmartlabs.electrode.reactnative.bridge;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
 
@@ -40,7 +41,7 @@ class RequestDispatcherImpl implements RequestDispatcher {
         final String requestName = bridgeRequest.getName();
 
         Logger.d(TAG, "dispatching request(id=%s) locally", requestId);
-        ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object> requestHandler = mRequestRegistrar.getRequestHandler(requestName);
+        ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object> requestHandler = getRequestHandler(bridgeRequest);
         if (requestHandler == null) {
             FailureMessage failureMessage = BridgeFailureMessage.create("ENOHANDLER", "No registered request handler for request name " + requestName);
             responseListener.onFailure(failureMessage);
@@ -54,4 +55,23 @@ class RequestDispatcherImpl implements RequestDispatcher {
     public boolean canHandleRequest(@NonNull String name) {
         return mRequestRegistrar.getRequestHandler(name) != null;
     }
+
+    /**
+     * Checks to see if a request handler is available for given request, through the symbol of the request when the registrar keeps a symbol table.
+     *
+     * @param bridgeRequest {@link ElectrodeBridgeRequest}
+     * @return true | false
+     */
+    boolean canHandleRequest(@NonNull ElectrodeBridgeRequest bridgeRequest) {
+        return getRequestHandler(bridgeRequest) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object> getRequestHandler(@NonNull ElectrodeBridgeRequest bridgeRequest) {
+        if (mRequestRegistrar instanceof RequestRegistrarImpl) {
+            return ((RequestRegistrarImpl<ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object>>) mRequestRegistrar).getRequestHandler(bridgeRequest.getSymbol());
+        }
+        return mRequestRegistrar.getRequestHandler(bridgeRequest.getName());
+    }
 }
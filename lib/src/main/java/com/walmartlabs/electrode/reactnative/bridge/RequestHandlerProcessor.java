@@ -70,18 +70,9 @@ public class RequestHandlerProcessor<TReq, TResp> implements RequestHandlerHandl
 
                 Logger.d(TAG, "Generated request(%s) from payload(%s) and ready to pass to registered handler", request, bridgeRequest);
 
-                handler.onRequest(request, new ElectrodeBridgeResponseListener<TResp>() {
-                    @Override
-                    public void onFailure(@NonNull FailureMessage failureMessage) {
-                        responseListener.onFailure(failureMessage);
-                    }
-
-                    @Override
-                    public void onSuccess(TResp obj) {
-                        Logger.d(TAG, "Received successful response(%s) from handler, now lets try to convert to real object for the response listener", obj);
-                        responseListener.onSuccess(obj);
-                    }
-                });
+                handler.onRequest(request, responseListener instanceof ElectrodeBridgeStreamingResponseListener
+                        ? new StreamingHandlerResponseListener((ElectrodeBridgeStreamingResponseListener<Object>) responseListener)
+                        : new HandlerResponseListener(responseListener));
             }
         };
 
@@ -89,6 +80,48 @@ public class RequestHandlerProcessor<TReq, TResp> implements RequestHandlerHandl
         return this;
     }
 
+    private class HandlerResponseListener implements CancellableResponseListener<TResp> {
+        final ElectrodeBridgeResponseListener<Object> mResponseListener;
+
+        private HandlerResponseListener(@NonNull ElectrodeBridgeResponseListener<Object> responseListener) {
+            mResponseListener = responseListener;
+        }
+
+        @Override
+        public void onFailure(@NonNull FailureMessage failureMessage) {
+            mResponseListener.onFailure(failureMessage);
+        }
+
+        @Override
+        public void onSuccess(TResp obj) {
+            Logger.d(TAG, "Received successful response(%s) from handler, now lets try to convert to real object for the response listener", obj);
+            mResponseListener.onSuccess(obj);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return mResponseListener instanceof CancellableResponseListener && ((CancellableResponseListener) mResponseListener).isCancelled();
+        }
+
+        @Override
+        public long getDeadline() {
+            return mResponseListener instanceof CancellableResponseListener ? ((CancellableResponseListener) mResponseListener).getDeadline() : ElectrodeBridgeRequest.NO_DEADLINE;
+        }
+    }
+
+    private class StreamingHandlerResponseListener extends HandlerResponseListener implements ElectrodeBridgeStreamingResponseListener<TResp> {
+        private StreamingHandlerResponseListener(@NonNull ElectrodeBridgeStreamingResponseListener<Object> responseListener) {
+            super(responseListener);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void onChunk(@NonNull TResp chunk) {
+            Logger.d(TAG, "Received a response chunk(%s) from handler", chunk);
+            ((ElectrodeBridgeStreamingResponseListener<Object>) mResponseListener).onChunk(chunk);
+        }
+    }
+
     @Override
     public boolean isRegistered() {
         return ElectrodeBridgeHolder.isRegistered(id);
@@ -36,6 +36,7 @@ public class RequestProcessor<TReq, TResp> {
     private final Class<TResp> responseClass;
     private final Class responseType;//Used when the TResp is List, represents the content type of the list. For non list, the response class and responseType will be same.
     private final ElectrodeBridgeResponseListener<TResp> responseListener;
+    private int maxChunkSize = ElectrodeBridgeRequest.DEFAULT_MAX_CHUNK_SIZE;
 
     public RequestProcessor(@NonNull String requestName, @Nullable TReq requestPayload, @NonNull Class<TResp> respClass, @NonNull ElectrodeBridgeResponseListener<TResp> responseListener) {
         this(requestName, requestPayload, respClass, respClass, responseListener);
@@ -49,35 +50,81 @@ public class RequestProcessor<TReq, TResp> {
         this.responseListener = responseListener;
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Sets the maximum number of list items carried by a single chunk, the size is counted in list items, not in bytes.
+     * Only applies when the response listener is an {@link ElectrodeBridgeStreamingResponseListener}.
+     *
+     * @param maxChunkSize max items per chunk, at least 1. Default value: {@link ElectrodeBridgeRequest#DEFAULT_MAX_CHUNK_SIZE}
+     * @return this processor for chaining
+     */
+    public RequestProcessor<TReq, TResp> maxChunkSize(int maxChunkSize) {
+        if (maxChunkSize < 1) {
+            throw new IllegalArgumentException("Max chunk size should be at least 1, received: " + maxChunkSize);
+        }
+        this.maxChunkSize = maxChunkSize;
+        return this;
+    }
+
+    /**
+     * Sends the request.
+     */
     public void execute() {
+        executeCancellable();
+    }
+
+    /**
+     * Sends the request.
+     *
+     * @return {@link CancellableRequestHandle} to cancel the request if its response is no longer needed
+     */
+    @NonNull
+    public CancellableRequestHandle executeCancellable() {
         Logger.d(TAG, "Request processor started processing request(%s)", requestName);
-        ElectrodeBridgeRequest req = new ElectrodeBridgeRequest.Builder(requestName)
-                .withData(requestPayload)
-                .build();
-
-        ElectrodeBridgeHolder.sendRequest(req, new ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>() {
-            @Override
-            public void onFailure(@NonNull FailureMessage failureMessage) {
-                responseListener.onFailure(failureMessage);
+        ElectrodeBridgeRequest.Builder requestBuilder = new ElectrodeBridgeRequest.Builder(requestName)
+                .withData(requestPayload);
+
+        if (responseListener instanceof ElectrodeBridgeStreamingResponseListener) {
+            return ElectrodeBridgeHolder.sendRequestCancellable(requestBuilder.withStreaming(maxChunkSize).build(), new StreamingBridgeResponseListener());
+        } else {
+            return ElectrodeBridgeHolder.sendRequestCancellable(requestBuilder.build(), new BridgeResponseListener());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private TResp toResponse(@NonNull ElectrodeBridgeResponse bridgeResponse) {
+        if (responseClass == None.class) {
+            return (TResp) None.NONE;
+        }
+        return (TResp) BridgeArguments.generateObject(bridgeResponse.getData(), responseType);
+    }
+
+    private class BridgeResponseListener implements ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> {
+        @Override
+        public void onFailure(@NonNull FailureMessage failureMessage) {
+            responseListener.onFailure(failureMessage);
+        }
+
+        @Override
+        public void onSuccess(@Nullable ElectrodeBridgeResponse bridgeResponse) {
+            if (bridgeResponse == null) {
+                throw new IllegalArgumentException("BridgeResponse cannot be null, should never reach here");
             }
 
-            @Override
-            public void onSuccess(@Nullable ElectrodeBridgeResponse bridgeResponse) {
-                if (bridgeResponse == null) {
-                    throw new IllegalArgumentException("BridgeResponse cannot be null, should never reach here");
-                }
-
-                TResp response;
-                if (responseClass == None.class) {
-                    response = (TResp) None.NONE;
-                } else {
-                    response = (TResp) BridgeArguments.generateObject(bridgeResponse.getData(), responseType);
-                }
-
-                Logger.d(TAG, "Request processor received the final response(%s) for request(%s)", response, requestName);
-                responseListener.onSuccess(response);
+            TResp response = toResponse(bridgeResponse);
+            Logger.d(TAG, "Request processor received the final response(%s) for request(%s)", response, requestName);
+            responseListener.onSuccess(response);
+        }
+    }
+
+    private class StreamingBridgeResponseListener extends BridgeResponseListener implements ElectrodeBridgeStreamingResponseListener<ElectrodeBridgeResponse> {
+        @SuppressWarnings("unchecked")
+        @Override
+        public void onChunk(@NonNull ElectrodeBridgeResponse bridgeChunk) {
+            TResp chunk = toResponse(bridgeChunk);
+            Logger.d(TAG, "Request processor received a chunk(%s) for request(%s)", chunk, requestName);
+            if (chunk != null) {
+                ((ElectrodeBridgeStreamingResponseListener<TResp>) responseListener).onChunk(chunk);
             }
-        });
+        }
     }
 }
@@ -22,15 +22,22 @@ import androidx.annotation.VisibleForTesting;
 
 import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
 
-import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Keeps a name and a {@link UUID} index over the same immutable registrations, every lookup is a single map access.
+ * Replacing the handler of a request name is a single put on the name index, so a concurrent dispatch sees either the old or the new handler.
+ * <p>
+ * Registrations are mirrored in a table indexed by the {@link BridgeSymbolTable} symbol of the request name, used on the dispatch path.
+ * Writes are serialized to keep that mirror in sync with the name index.
+ */
 public class RequestRegistrarImpl<T> implements RequestRegistrar<T> {
     private static final String TAG = RequestRegistrarImpl.class.getSimpleName();
 
-    private final ConcurrentHashMap<UUID, String> mRequestNameByUUID = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, T> mRequestHandlerByRequestName = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Registration<T>> mRegistrationByRequestName = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Registration<T>> mRegistrationByUUID = new ConcurrentHashMap<>();
+    private final SymbolIndexedTable<Registration<T>> mRegistrationBySymbol = new SymbolIndexedTable<>();
 
     /**
      * Registers a request handler
@@ -41,14 +48,23 @@ public class RequestRegistrarImpl<T> implements RequestRegistrar<T> {
      * @return Returns true if the {@code requestHandler} is registered
      */
     @NonNull
-    public boolean registerRequestHandler(@NonNull String name, @NonNull T requestHandler, @NonNull UUID requestHandlerUuid) {
-        boolean isRegistered;
-        if (mRequestHandlerByRequestName.get(name) != null) {
+    public synchronized boolean registerRequestHandler(@NonNull String name, @NonNull T requestHandler, @NonNull UUID requestHandlerUuid) {
+        Registration<T> registration = new Registration<>(name, BridgeSymbolTable.intern(name), requestHandlerUuid, requestHandler);
+        Registration<T> replaced = mRegistrationByRequestName.put(name, registration);
+        mRegistrationBySymbol.set(registration.symbol, registration);
+        Registration<T> previousForUuid = mRegistrationByUUID.put(requestHandlerUuid, registration);
+
+        if (replaced != null && !replaced.uuid.equals(requestHandlerUuid)) {
             Logger.d(TAG, "A request handler for request(name: %s) already exist. Replacing with a new request handler", name);
-            removeOldUuidMapping(name);
+            Logger.d(TAG, "Removing old request handler(id: %s)", replaced.uuid);
+            mRegistrationByUUID.remove(replaced.uuid, replaced);
+        }
+        if (previousForUuid != null && !previousForUuid.name.equals(name)) {
+            // Same id re-registered for another request name, the old name should no longer resolve to it.
+            if (mRegistrationByRequestName.remove(previousForUuid.name, previousForUuid)) {
+                mRegistrationBySymbol.set(previousForUuid.symbol, null);
+            }
         }
-        mRequestHandlerByRequestName.put(name, requestHandler);
-        mRequestNameByUUID.put(requestHandlerUuid, name);
         Logger.d(TAG, "New request handler(id: %s) registered for request: %s", requestHandlerUuid, name);
         return true;
     }
@@ -59,11 +75,15 @@ public class RequestRegistrarImpl<T> implements RequestRegistrar<T> {
      * @param requestHandlerUuid {@link UUID} of registerRequestHandler
      * @return registerRequestHandler unregistered
      */
-    public T unregisterRequestHandler(@NonNull UUID requestHandlerUuid) {
-        String requestName = mRequestNameByUUID.remove(requestHandlerUuid);
-        if (requestName != null) {
-            Logger.d(TAG, "Request handler(id: %s) removed for request: %s", requestHandlerUuid, requestName);
-            return mRequestHandlerByRequestName.remove(requestName);
+    public synchronized T unregisterRequestHandler(@NonNull UUID requestHandlerUuid) {
+        Registration<T> registration = mRegistrationByUUID.remove(requestHandlerUuid);
+        if (registration != null) {
+            Logger.d(TAG, "Request handler(id: %s) removed for request: %s", requestHandlerUuid, registration.name);
+            // Conditional remove, a newer handler registered for the same name stays in place.
+            if (mRegistrationByRequestName.remove(registration.name, registration)) {
+                mRegistrationBySymbol.set(registration.symbol, null);
+            }
+            return registration.handler;
         } else {
             Logger.d(TAG, "Request handler(id: %s) already removed", requestHandlerUuid);
         }
@@ -79,31 +99,30 @@ public class RequestRegistrarImpl<T> implements RequestRegistrar<T> {
      */
     @Nullable
     public T getRequestHandler(@NonNull String name) {
-        return mRequestHandlerByRequestName.get(name);
+        Registration<T> registration = mRegistrationByRequestName.get(name);
+        return registration != null ? registration.handler : null;
+    }
+
+    /**
+     * @param symbol Symbol of the request name, see {@link BridgeMessage#getSymbol()}
+     * @return The request handler instance or null if no such request handler was registered
+     */
+    @Nullable
+    T getRequestHandler(int symbol) {
+        Registration<T> registration = mRegistrationBySymbol.get(symbol);
+        return registration != null ? registration.handler : null;
     }
 
     @Nullable
     @Override
     public UUID getRequestHandlerId(@NonNull String name) {
-        for (Map.Entry entry : mRequestNameByUUID.entrySet()) {
-            if (name.equals(entry.getValue())) {
-                return (UUID) entry.getKey();
-            }
-        }
-        return null;
+        Registration<T> registration = mRegistrationByRequestName.get(name);
+        return registration != null ? registration.uuid : null;
     }
 
     @Override
     public boolean isRegistered(@NonNull UUID requestHandlerUuid) {
-        return mRequestNameByUUID.containsKey(requestHandlerUuid);
-    }
-
-    private void removeOldUuidMapping(@NonNull String name) {
-        UUID oldUuid = getRequestHandlerId(name);
-        if (oldUuid != null) {
-            Logger.d(TAG, "Removing old request handler(id: %s)", oldUuid);
-            mRequestNameByUUID.remove(oldUuid);
-        }
+        return mRegistrationByUUID.containsKey(requestHandlerUuid);
     }
 
     /**
@@ -112,8 +131,23 @@ public class RequestRegistrarImpl<T> implements RequestRegistrar<T> {
      * Clear all registered request handlers.
      */
     @VisibleForTesting
-    void reset() {
-        mRequestNameByUUID.clear();
-        mRequestHandlerByRequestName.clear();
+    synchronized void reset() {
+        mRegistrationByUUID.clear();
+        mRegistrationByRequestName.clear();
+        mRegistrationBySymbol.clear();
+    }
+
+    private static final class Registration<T> {
+        final String name;
+        final int symbol;
+        final UUID uuid;
+        final T handler;
+
+        Registration(@NonNull String name, int symbol, @NonNull UUID uuid, @NonNull T handler) {
+            this.name = name;
+            this.symbol = symbol;
+            this.uuid = uuid;
+            this.handler = handler;
+        }
     }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Array table indexed by {@link BridgeSymbolTable} symbols. Reads are lock free, writes are synchronized and publish the array through a volatile field.
+ *
+ * @param <T> slot type
+ */
+final class SymbolIndexedTable<T> {
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    private volatile Object[] mSlots = new Object[INITIAL_CAPACITY];
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    T get(int symbol) {
+        Object[] slots = mSlots;
+        return symbol >= 0 && symbol < slots.length ? (T) slots[symbol] : null;
+    }
+
+    synchronized void set(int symbol, @Nullable T value) {
+        Object[] slots = mSlots;
+        if (symbol >= slots.length) {
+            slots = Arrays.copyOf(slots, Math.max(symbol + 1, slots.length * 2));
+        }
+        slots[symbol] = value;
+        mSlots = slots;
+    }
+
+    synchronized void clear() {
+        mSlots = new Object[INITIAL_CAPACITY];
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2020 Walmart Labs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.ern.container;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.NativeModule;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.module.model.ReactModuleInfo;
+import com.facebook.react.module.model.ReactModuleInfoProvider;
+import com.facebook.react.shell.MainReactPackage;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link MainReactPackage} that only exposes the native modules of an allowlist, see {@link ElectrodeReactContainer.Config#mainReactPackageModules(String...)}.
+ * <p>
+ * The modules left out are neither listed to JS nor instantiated, the allowed ones are still created on first JS access.
+ */
+final class AllowlistedMainReactPackage extends MainReactPackage {
+    private static final String TAG = AllowlistedMainReactPackage.class.getSimpleName();
+
+    private final Set<String> mAllowedModules;
+    @Nullable
+    private Map<String, ReactModuleInfo> mModuleInfos;
+
+    AllowlistedMainReactPackage(@NonNull Set<String> allowedModules) {
+        mAllowedModules = Collections.unmodifiableSet(new HashSet<>(allowedModules));
+    }
+
+    @Nullable
+    @Override
+    public NativeModule getModule(String name, @NonNull ReactApplicationContext context) {
+        if (!mAllowedModules.contains(name)) {
+            return null;
+        }
+        return super.getModule(name, context);
+    }
+
+    @Override
+    public ReactModuleInfoProvider getReactModuleInfoProvider() {
+        final Map<String, ReactModuleInfo> moduleInfos = getAllowedModuleInfos();
+        return new ReactModuleInfoProvider() {
+            @Override
+            public Map<String, ReactModuleInfo> getReactModuleInfos() {
+                return moduleInfos;
+            }
+        };
+    }
+
+    @NonNull
+    private synchronized Map<String, ReactModuleInfo> getAllowedModuleInfos() {
+        if (mModuleInfos == null) {
+            Map<String, ReactModuleInfo> allModuleInfos = super.getReactModuleInfoProvider().getReactModuleInfos();
+            Map<String, ReactModuleInfo> moduleInfos = new HashMap<>();
+            for (String name : mAllowedModules) {
+                ReactModuleInfo moduleInfo = allModuleInfos.get(name);
+                if (moduleInfo != null) {
+                    moduleInfos.put(name, moduleInfo);
+                } else {
+                    Log.w(TAG, "Allowlisted module " + name + " is not part of MainReactPackage, ignoring it.");
+                }
+            }
+            mModuleInfos = Collections.unmodifiableMap(moduleInfos);
+        }
+        return mModuleInfos;
+    }
+}
@@ -6,6 +6,7 @@ import android.content.Intent;
 import android.os.Build;
 import android.os.Bundle;
 import android.provider.Settings;
+import android.util.DisplayMetrics;
 import android.view.View;
 
 import androidx.annotation.NonNull;
@@ -34,6 +35,9 @@ public class ElectrodeReactActivityDelegate extends ReactActivityDelegate {
      */
     private final Map<String, ReactRootViewHolder> mReactRootViews = new HashMap<>();
 
+    @Nullable
+    private ReactRootViewPool mReactRootViewPool;
+
     // NOTE: PermissionListener/callback part of the code is duplicated because of the class
     // casting done inside super.onResume to get the backKey handler implementation.
     @Nullable
@@ -151,6 +155,21 @@ public class ElectrodeReactActivityDelegate extends ReactActivityDelegate {
         return getReactAppView(componentName, finalProps, newInstance);
     }
 
+    /**
+     * Creates and starts a {@link ReactRootView} for the given component ahead of time, the next call
+     * to {@link #createReactRootView(String, Bundle)} for the component uses it. Call this for the
+     * components that are likely to be shown next. Ignored unless the container is configured with
+     * {@link ElectrodeReactContainer.Config#reactRootViewPool(int)}.
+     *
+     * @param componentName name of the react native app component.
+     */
+    public void prewarmReactRootView(@NonNull String componentName) {
+        ReactRootViewPool pool = getReactRootViewPool();
+        if (pool != null) {
+            pool.prewarm(componentName);
+        }
+    }
+
     /**
      * Removes the {@link ReactRootView} for the given miniapp (if present) from the list and also
      * unmounts the application.
@@ -191,9 +210,18 @@ public class ElectrodeReactActivityDelegate extends ReactActivityDelegate {
         ReactRootViewHolder rootViewHolder = mReactRootViews.get(componentName);
 
         if (rootViewHolder == null || newInstance || rootViewHolder.size() > 1) {
-            ReactRootView rootView = createRootView();
-            rootView.startReactApplication(
-                    ElectrodeReactContainer.getReactInstanceManager(), componentName, props);
+            ReactRootViewPool pool = getReactRootViewPool();
+            ReactRootView rootView = pool != null ? pool.acquire(componentName) : null;
+            if (rootView != null) {
+                rootView.setAppProperties(props);
+            } else {
+                rootView = createRootView();
+                ElectrodeReactContainer.getStartupReport().begin(StartupReport.Phase.FIRST_RENDER);
+                startReactApplication(rootView, componentName, props);
+            }
+            if (pool != null) {
+                pool.onComponentShown(componentName);
+            }
             if (rootViewHolder == null) {
                 rootViewHolder = new ReactRootViewHolder(componentName, rootView);
                 mReactRootViews.put(componentName, rootViewHolder);
@@ -208,6 +236,44 @@ public class ElectrodeReactActivityDelegate extends ReactActivityDelegate {
         }
     }
 
+    private void startReactApplication(
+            @NonNull ReactRootView rootView, @NonNull String componentName, @Nullable Bundle props) {
+        ElectrodeReactContainer.startReactNative();
+        MiniAppBundleLoader bundleLoader = ElectrodeReactContainer.getMiniAppBundleLoader(componentName);
+        if (bundleLoader != null) {
+            bundleLoader.ensureLoaded(componentName);
+        }
+        rootView.startReactApplication(
+                ElectrodeReactContainer.getReactInstanceManager(componentName), componentName, props);
+    }
+
+    @Nullable
+    private ReactRootViewPool getReactRootViewPool() {
+        if (mReactRootViewPool == null) {
+            int maxViews = ElectrodeReactContainer.getConfig().getReactRootViewPoolSize();
+            if (maxViews > 0) {
+                mReactRootViewPool = new ReactRootViewPool(maxViews, new ReactRootViewPool.Factory() {
+                    @NonNull
+                    @Override
+                    public ReactRootView createStartedRootView(@NonNull String componentName) {
+                        ReactRootView rootView = createRootView();
+                        // Measured with the size of the activity content so that the component is laid out before it is attached.
+                        View content = getPlainActivity().findViewById(android.R.id.content);
+                        DisplayMetrics displayMetrics = getPlainActivity().getResources().getDisplayMetrics();
+                        int width = content != null && content.getWidth() > 0 ? content.getWidth() : displayMetrics.widthPixels;
+                        int height = content != null && content.getHeight() > 0 ? content.getHeight() : displayMetrics.heightPixels;
+                        rootView.measure(
+                                View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                                View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+                        startReactApplication(rootView, componentName, getLaunchOptions());
+                        return rootView;
+                    }
+                });
+            }
+        }
+        return mReactRootViewPool;
+    }
+
     @Override
     protected ReactNativeHost getReactNativeHost() {
         return ElectrodeReactContainer.getReactNativeHost();
@@ -216,7 +282,15 @@ public class ElectrodeReactActivityDelegate extends ReactActivityDelegate {
     @Override
     public void onDestroy() {
         unMountReactApplications();
+        if (mReactRootViewPool != null) {
+            mReactRootViewPool.clear();
+        }
         super.onDestroy();
+        for (ReactNativeHost host : ElectrodeReactContainer.getSecondaryReactNativeHosts()) {
+            if (host.hasInstance()) {
+                host.getReactInstanceManager().onHostDestroy(getPlainActivity());
+            }
+        }
     }
 
     @Override
@@ -227,21 +301,31 @@ public class ElectrodeReactActivityDelegate extends ReactActivityDelegate {
     @Override
     public void onPause() {
         super.onPause();
+        for (ReactNativeHost host : ElectrodeReactContainer.getSecondaryReactNativeHosts()) {
+            if (host.hasInstance()) {
+                host.getReactInstanceManager().onHostPause(getPlainActivity());
+            }
+        }
     }
 
     // NOTE: Duplicate of super class because of how DefaultHardwareBackBtnHandler is handled in
     // Electrode Native
     @Override
     public void onResume() {
+        DefaultHardwareBackBtnHandler hardwareBackBtnHandler =
+                (getPlainActivity() instanceof DefaultHardwareBackBtnHandler)
+                        ? (DefaultHardwareBackBtnHandler) getPlainActivity()
+                        : mDefaultHardwareBackBtnHandler;
         if (getReactNativeHost().hasInstance()) {
-            DefaultHardwareBackBtnHandler hardwareBackBtnHandler =
-                    (getPlainActivity() instanceof DefaultHardwareBackBtnHandler)
-                            ? (DefaultHardwareBackBtnHandler) getPlainActivity()
-                            : mDefaultHardwareBackBtnHandler;
             getReactNativeHost()
                     .getReactInstanceManager()
                     .onHostResume(getPlainActivity(), hardwareBackBtnHandler);
         }
+        for (ReactNativeHost host : ElectrodeReactContainer.getSecondaryReactNativeHosts()) {
+            if (host.hasInstance()) {
+                host.getReactInstanceManager().onHostResume(getPlainActivity(), hardwareBackBtnHandler);
+            }
+        }
 
         if (mPermissionsCallback != null) {
             mPermissionsCallback.invoke();
@@ -16,14 +16,24 @@
 
 package com.walmartlabs.ern.container;
 
+import com.walmartlabs.electrode.reactnative.bridge.ElectrodeBridgeHolder;
+import com.walmartlabs.electrode.reactnative.bridge.ElectrodeBridgePackage;
 import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
 import com.walmartlabs.ern.container.devassist.ErnDevSettingsActivity;
 import com.walmartlabs.ern.container.plugins.ElectrodeBridgePlugin;
+import com.walmartlabs.ern.container.plugins.LifecycleReactPlugin;
+import com.walmartlabs.ern.container.plugins.ReactPlugin;
+import com.walmartlabs.ern.container.plugins.ReactPluginConfig;
 
 import android.app.Activity;
 import android.app.Application;
 import android.content.Intent;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.util.Log;
+import android.view.Choreographer;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -32,6 +42,7 @@ import com.ern.api.impl.EnNavigationApiController;
 import com.facebook.react.ReactInstanceManager;
 import com.facebook.react.ReactNativeHost;
 import com.facebook.react.ReactPackage;
+import com.facebook.react.bridge.JavaScriptExecutorFactory;
 import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.SafeActivityStarter;
 import com.facebook.react.devsupport.interfaces.DevOptionHandler;
@@ -40,11 +51,15 @@ import com.facebook.react.modules.network.OkHttpClientProvider;
 import com.facebook.react.shell.MainReactPackage;
 import com.facebook.soloader.SoLoader;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import okhttp3.OkHttpClient;
 
@@ -57,6 +72,13 @@ public class ElectrodeReactContainer {
     private static List<ReactPackage> sReactPackages = new ArrayList<>();
     private static ElectrodeReactNativeHost sElectrodeReactNativeHost;
     private static Config sConfig;
+    private static Application sApplication;
+    private static boolean sIsReactNativeStarted;
+    private static final StartupReport sStartupReport = new StartupReport();
+    private static MemoryPressurePolicy sMemoryPressurePolicy;
+    private static PluginLifecycleRunner sPluginLifecycleRunner;
+    // Additional react instances, see Config#reactInstancePool(int, ReactInstanceRouter).
+    private static final List<ElectrodeReactNativeHost> sSecondaryHosts = new ArrayList<>();
 
     private static boolean isReactNativeDeveloperSupport;
 
@@ -70,6 +92,17 @@ public class ElectrodeReactContainer {
         return sElectrodeReactNativeHost.getReactInstanceManager();
     }
 
+    /**
+     * Returns the react instance manager that runs the given component, see {@link Config#reactInstancePool(int, ReactInstanceRouter)}.
+     *
+     * @param componentName React native component name
+     * @return ReactInstanceManager
+     */
+    public static synchronized ReactInstanceManager getReactInstanceManager(@NonNull String componentName) {
+        throwIfNotInitialized();
+        return getReactNativeHost(componentName).getReactInstanceManager();
+    }
+
     /**
      * @deprecated This method is deprecated. This class is converted to hold only util methods that
      * allows you to initialize Electrode container and ReactNativeHost. Start referring to all
@@ -128,8 +161,12 @@ public class ElectrodeReactContainer {
     ) {
         if (sElectrodeReactNativeHost == null) {
             sConfig = reactContainerConfig;
+            sApplication = application;
 
+            sStartupReport.startListeningToReactMarkers();
+            sStartupReport.begin(StartupReport.Phase.SO_LOADER_INIT);
             SoLoader.init(application, /* native exopackage */ false);
+            sStartupReport.end(StartupReport.Phase.SO_LOADER_INIT);
 
             // ReactNative general config
 
@@ -145,29 +182,43 @@ public class ElectrodeReactContainer {
                         new OkHttpClientFactoryImpl(reactContainerConfig.okHttpClient));
             }
 
-            sElectrodeReactNativeHost = new ElectrodeReactNativeHost(application);
-
-            sReactPackages.add(new MainReactPackage());
-            sReactPackages.add(new ElectrodeBridgePlugin().hook(application, null));
-            sReactPackages.removeAll(Collections.singleton((ReactPackage) null));
-
-            // Add Electrode Native Settings item to React Native dev menu
-            getReactInstanceManager()
-                    .getDevSupportManager()
-                    .addCustomDevOption(
-                            "Electrode Native Settings",
-                            new DevOptionHandler() {
-                                @Override
-                                public void onOptionSelected() {
-                                    Intent intent =
-                                            new Intent(application, ErnDevSettingsActivity.class);
-                                    intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
-                                    application.startActivity(intent);
-                                }
-                            });
+            // The plugin graph is validated before any host is assigned, an invalid graph leaves the container uninitialized.
+            sStartupReport.begin(StartupReport.Phase.PACKAGE_CREATION);
+            MiniAppBundleLoader miniAppBundleLoader = MiniAppBundleLoader.create(application);
+            List<ReactPackage> reactPackages = new ArrayList<>();
+            Map<LifecycleReactPlugin<?>, ReactPackage> lifecyclePlugins = new HashMap<>();
+            addReactPackages(application, reactContainerConfig, reactPackages, new ElectrodeBridgePlugin().hook(application, null), miniAppBundleLoader, lifecyclePlugins);
+            PluginLifecycleRunner pluginLifecycleRunner = new PluginLifecycleRunner(lifecyclePlugins, reactPackages);
+            List<ElectrodeReactNativeHost> secondaryHosts = new ArrayList<>();
+            for (int i = 1; i < reactContainerConfig.reactInstancePoolSize; i++) {
+                List<ReactPackage> packages = new ArrayList<>();
+                MiniAppBundleLoader bundleLoader = MiniAppBundleLoader.create(application);
+                addReactPackages(application, reactContainerConfig, packages, new ElectrodeBridgePackage(false), bundleLoader, null);
+                secondaryHosts.add(new ElectrodeReactNativeHost(application, packages, bundleLoader, false));
+            }
+            sStartupReport.end(StartupReport.Phase.PACKAGE_CREATION);
+
+            sStartupReport.begin(StartupReport.Phase.HOST_CREATION);
+            sReactPackages.addAll(reactPackages);
+            sPluginLifecycleRunner = pluginLifecycleRunner;
+            sSecondaryHosts.addAll(secondaryHosts);
+            sElectrodeReactNativeHost = new ElectrodeReactNativeHost(application, sReactPackages, miniAppBundleLoader, true);
+            sStartupReport.end(StartupReport.Phase.HOST_CREATION);
+
+            switch (reactContainerConfig.startPolicy) {
+                case ON_IDLE:
+                    setEngineStarter(application);
+                    startReactNativeAfterFirstFrame(application);
+                    break;
+                case ON_DEMAND:
+                    setEngineStarter(application);
+                    break;
+                default:
+                    startReactNative(application);
+            }
 
-            // Load bundle now (engine might offer lazy loading later down the road)
-            getReactInstanceManager().createReactContextInBackground();
+            sMemoryPressurePolicy = new MemoryPressurePolicy();
+            application.registerComponentCallbacks(sMemoryPressurePolicy);
 
             EnNavigationApiController.register(null);
 
@@ -183,6 +234,202 @@ public class ElectrodeReactContainer {
         }
     }
 
+    // Packages of a react instance. Each instance gets its own packages, plugin hooks are called once per instance.
+    private static void addReactPackages(
+            @NonNull Application application,
+            @NonNull Config config,
+            @NonNull List<ReactPackage> packages,
+            @NonNull ReactPackage bridgePackage,
+            @Nullable MiniAppBundleLoader bundleLoader,
+            @Nullable Map<LifecycleReactPlugin<?>, ReactPackage> lifecyclePlugins) {
+        packages.add(config.mainReactPackageModules != null
+                ? new AllowlistedMainReactPackage(config.mainReactPackageModules)
+                : new MainReactPackage());
+        packages.add(bridgePackage);
+        for (Map.Entry<ReactPlugin, ReactPluginConfig> plugin : config.plugins.entrySet()) {
+            //noinspection unchecked
+            ReactPackage reactPackage = plugin.getKey().hook(application, plugin.getValue());
+            packages.add(reactPackage);
+            if (lifecyclePlugins != null && plugin.getKey() instanceof LifecycleReactPlugin) {
+                lifecyclePlugins.put((LifecycleReactPlugin<?>) plugin.getKey(), reactPackage);
+            }
+        }
+        if (bundleLoader != null) {
+            packages.add(bundleLoader.createReactPackage());
+        }
+        packages.removeAll(Collections.singleton((ReactPackage) null));
+    }
+
+    /**
+     * Starts loading the react native bundle if it is not started yet, see {@link Config#startPolicy(StartPolicy)}.
+     * Must be called from the main thread.
+     */
+    @SuppressWarnings("unused")
+    public static void startReactNative() {
+        throwIfNotInitialized();
+        startReactNative(sApplication);
+    }
+
+    private static synchronized void startReactNative(@NonNull final Application application) {
+        if (sIsReactNativeStarted) {
+            return;
+        }
+        sIsReactNativeStarted = true;
+        sStartupReport.begin(StartupReport.Phase.ENGINE_START);
+        Log.d(TAG, "Starting react native engine, start policy: " + sConfig.startPolicy);
+
+        // Add Electrode Native Settings item to React Native dev menu
+        getReactInstanceManager()
+                .getDevSupportManager()
+                .addCustomDevOption(
+                        "Electrode Native Settings",
+                        new DevOptionHandler() {
+                            @Override
+                            public void onOptionSelected() {
+                                Intent intent =
+                                        new Intent(application, ErnDevSettingsActivity.class);
+                                intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
+                                application.startActivity(intent);
+                            }
+                        });
+
+        getReactInstanceManager().createReactContextInBackground();
+    }
+
+    // Waits for the first frame of the first resumed activity, then starts react native once the main thread is idle so that it does not delay that frame.
+    private static void startReactNativeAfterFirstFrame(@NonNull final Application application) {
+        application.registerActivityLifecycleCallbacks(new Application.ActivityLifecycleCallbacks() {
+            @Override
+            public void onActivityResumed(@NonNull Activity activity) {
+                application.unregisterActivityLifecycleCallbacks(this);
+                Choreographer.getInstance().postFrameCallback(new Choreographer.FrameCallback() {
+                    @Override
+                    public void doFrame(long frameTimeNanos) {
+                        Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+                            @Override
+                            public boolean queueIdle() {
+                                startReactNative(application);
+                                return false;
+                            }
+                        });
+                    }
+                });
+            }
+
+            @Override
+            public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {
+            }
+
+            @Override
+            public void onActivityStarted(@NonNull Activity activity) {
+            }
+
+            @Override
+            public void onActivityPaused(@NonNull Activity activity) {
+            }
+
+            @Override
+            public void onActivityStopped(@NonNull Activity activity) {
+            }
+
+            @Override
+            public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+            }
+
+            @Override
+            public void onActivityDestroyed(@NonNull Activity activity) {
+            }
+        });
+    }
+
+    // Additional instances are started once the main thread is idle after the singleton instance is ready, so that they do not delay it.
+    private static void startSecondaryInstancesOnIdle() {
+        if (sSecondaryHosts.isEmpty()) {
+            return;
+        }
+        Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+            @Override
+            public boolean queueIdle() {
+                for (ElectrodeReactNativeHost host : sSecondaryHosts) {
+                    ReactInstanceManager reactInstanceManager = host.getReactInstanceManager();
+                    if (!reactInstanceManager.hasStartedCreatingInitialContext()) {
+                        Log.d(TAG, "Pre-warming additional react instance");
+                        reactInstanceManager.createReactContextInBackground();
+                    }
+                }
+                return false;
+            }
+        });
+    }
+
+    // Starts react native on the first bridge call, calls made until react native is ready are queued by the bridge.
+    private static void setEngineStarter(@NonNull final Application application) {
+        ElectrodeBridgeHolder.setEngineStarter(new Runnable() {
+            @Override
+            public void run() {
+                new Handler(Looper.getMainLooper()).post(new Runnable() {
+                    @Override
+                    public void run() {
+                        startReactNative(application);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Returns the timeline of the container startup. The report is filled in as the startup progresses, see {@link StartupReport#isComplete()}.
+     *
+     * @return StartupReport
+     */
+    @NonNull
+    public static StartupReport getStartupReport() {
+        return sStartupReport;
+    }
+
+    /**
+     * Returns the policy that releases memory on {@link android.content.ComponentCallbacks2#onTrimMemory(int)}, along with the counts of what it released.
+     *
+     * @return MemoryPressurePolicy
+     */
+    @NonNull
+    public static MemoryPressurePolicy getMemoryPressurePolicy() {
+        throwIfNotInitialized();
+        return sMemoryPressurePolicy;
+    }
+
+    /**
+     * @param componentName React native component name
+     * @return The loader of the mini-app bundle segments of the instance that runs the component, null when the mini-apps are packaged in a single bundle.
+     */
+    @Nullable
+    static MiniAppBundleLoader getMiniAppBundleLoader(@NonNull String componentName) {
+        return getReactNativeHost(componentName).mBundleLoader;
+    }
+
+    @NonNull
+    private static ElectrodeReactNativeHost getReactNativeHost(@NonNull String componentName) {
+        if (sSecondaryHosts.isEmpty()) {
+            return sElectrodeReactNativeHost;
+        }
+        int index = sConfig.reactInstanceRouter.instanceFor(componentName);
+        if (index <= 0 || index > sSecondaryHosts.size()) {
+            if (index != 0) {
+                Log.w(TAG, "Invalid react instance " + index + " for " + componentName + ", using the singleton instance.");
+            }
+            return sElectrodeReactNativeHost;
+        }
+        return sSecondaryHosts.get(index - 1);
+    }
+
+    /**
+     * @return The hosts of the additional react instances, see {@link Config#reactInstancePool(int, ReactInstanceRouter)}.
+     */
+    @NonNull
+    static List<? extends ReactNativeHost> getSecondaryReactNativeHosts() {
+        return sSecondaryHosts;
+    }
+
     public static ReactNativeHost getReactNativeHost() {
         return sElectrodeReactNativeHost;
     }
@@ -240,8 +487,47 @@ public class ElectrodeReactContainer {
         void onReactNativeReady();
     }
 
+    /**
+     * Picks the react instance that runs a component, see {@link Config#reactInstancePool(int, ReactInstanceRouter)}.
+     */
+    public interface ReactInstanceRouter {
+        /**
+         * @param componentName React native component name
+         * @return Index of the react instance in the pool, 0 being the singleton instance.
+         */
+        int instanceFor(@NonNull String componentName);
+    }
+
+    /**
+     * Decides when the react native bundle starts loading.
+     */
+    public enum StartPolicy {
+        /**
+         * Starts while the container is initialized.
+         */
+        EAGER,
+        /**
+         * Starts once the main thread is idle after the first activity drew its first frame, or on first use if it comes first.
+         */
+        ON_IDLE,
+        /**
+         * Starts on first use: when a react root view is created, a bridge call is made or {@link #startReactNative()} is called.
+         */
+        ON_DEMAND
+    }
+
     public static class Config {
         private boolean isReactNativeDeveloperSupport;
+        private StartPolicy startPolicy = StartPolicy.EAGER;
+        private boolean useHermes;
+        private boolean prefetchMiniAppBundles;
+        private final Map<ReactPlugin, ReactPluginConfig> plugins = new LinkedHashMap<>();
+        @Nullable
+        private Set<String> mainReactPackageModules;
+        private int reactInstancePoolSize = 1;
+        private int reactRootViewPoolSize;
+        @Nullable
+        private ReactInstanceRouter reactInstanceRouter;
         private OkHttpClient okHttpClient;
         private String bundleStoreHostPort = "localhost:3000";
 
@@ -262,6 +548,105 @@ public class ElectrodeReactContainer {
             return this;
         }
 
+        /**
+         * @param value Decides when the react native bundle starts loading. Default value: {@link StartPolicy#EAGER}
+         */
+        @SuppressWarnings("unused")
+        public Config startPolicy(@NonNull StartPolicy value) {
+            startPolicy = value;
+            return this;
+        }
+
+        /**
+         * Runs the JS bundle on Hermes instead of JSC. The container should be built with -PernHermes=true so that the bundle is shipped as Hermes bytecode,
+         * and the application must provide the hermes-engine runtime. Falls back to JSC when the runtime is missing.
+         *
+         * @param value Default value: false
+         */
+        @SuppressWarnings("unused")
+        public Config useHermes(boolean value) {
+            useHermes = value;
+            return this;
+        }
+
+        /**
+         * When the mini-apps are packaged as split bundles, loads the bundle of every mini-app when the main thread is idle after react native is ready,
+         * instead of loading each one before its first use. Ignored for a single bundle container.
+         *
+         * @param value Default value: false
+         */
+        @SuppressWarnings("unused")
+        public Config prefetchMiniAppBundles(boolean value) {
+            prefetchMiniAppBundles = value;
+            return this;
+        }
+
+        /**
+         * Restricts the native modules of {@link MainReactPackage} to the given ones, for example "Networking", "ImageLoader" or "AsyncSQLiteDBStorage".
+         * The other modules are neither exposed to JS nor created. By default all the modules are exposed, each one is created on first JS access.
+         *
+         * @param moduleNames Names of the modules, as seen from JS.
+         */
+        @SuppressWarnings("unused")
+        public Config mainReactPackageModules(@NonNull String... moduleNames) {
+            mainReactPackageModules = new HashSet<>(Arrays.asList(moduleNames));
+            return this;
+        }
+
+        /**
+         * Runs the mini-apps on a pool of react instances instead of a single one, so that a crash or a heavy JS workload in one mini-app
+         * does not affect the mini-apps of the other instances. The instance 0 is the singleton instance returned by {@link #getReactInstanceManager()},
+         * the other ones are started once it is ready.
+         * <p>
+         * Each instance has its own packages. Events are delivered to every instance, requests sent from native go to the singleton instance first, then to the instances whose JS side has a handler for them.
+         *
+         * @param size   Number of react instances, at least 1. Default value: 1
+         * @param router Picks the instance of a component.
+         */
+        @SuppressWarnings("unused")
+        public Config reactInstancePool(int size, @NonNull ReactInstanceRouter router) {
+            if (size < 1) {
+                throw new IllegalArgumentException("React instance pool size should be at least 1, received: " + size);
+            }
+            reactInstancePoolSize = size;
+            reactInstanceRouter = router;
+            return this;
+        }
+
+        /**
+         * Keeps up to the given number of react root views created and started ahead of time by each activity delegate.
+         * Views are pre-warmed for the components passed to {@link ElectrodeReactActivityDelegate#prewarmReactRootView(String)}
+         * and for the component that most often followed the one just shown. A pre-warmed view receives its props through
+         * {@link com.facebook.react.ReactRootView#setAppProperties(android.os.Bundle)} when it is handed out.
+         *
+         * @param maxViews Maximum number of pre-warmed views per activity, 0 to disable. Default value: 0
+         */
+        @SuppressWarnings("unused")
+        public Config reactRootViewPool(int maxViews) {
+            if (maxViews < 0) {
+                throw new IllegalArgumentException("React root view pool size should not be negative, received: " + maxViews);
+            }
+            reactRootViewPoolSize = maxViews;
+            return this;
+        }
+
+        int getReactRootViewPoolSize() {
+            return reactRootViewPoolSize;
+        }
+
+        /**
+         * Adds a plugin to the container. The package returned by the plugin hook is added to the react native host.
+         * A {@link LifecycleReactPlugin} is also notified once react native is initialized, after the plugins it depends on.
+         *
+         * @param plugin       {@link ReactPlugin}
+         * @param pluginConfig Config passed to the plugin hook
+         */
+        @SuppressWarnings("unused")
+        public Config plugin(@NonNull ReactPlugin plugin, @Nullable ReactPluginConfig pluginConfig) {
+            plugins.put(plugin, pluginConfig);
+            return this;
+        }
+
         @SuppressWarnings("unused")
         public String getBundleStoreHostPort() {
             return bundleStoreHostPort;
@@ -274,13 +659,35 @@ public class ElectrodeReactContainer {
                     + isReactNativeDeveloperSupport
                     + "bundleStoreHostPort="
                     + bundleStoreHostPort
+                    + "startPolicy="
+                    + startPolicy
+                    + "useHermes="
+                    + useHermes
+                    + "prefetchMiniAppBundles="
+                    + prefetchMiniAppBundles
+                    + "mainReactPackageModules="
+                    + mainReactPackageModules
+                    + "reactInstancePoolSize="
+                    + reactInstancePoolSize
+                    + "reactRootViewPoolSize="
+                    + reactRootViewPoolSize
                     + '}';
         }
     }
 
     private static class ElectrodeReactNativeHost extends ReactNativeHost {
-        private ElectrodeReactNativeHost(Application application) {
+        private static final String HERMES_EXECUTOR_FACTORY = "com.facebook.hermes.reactexecutor.HermesExecutorFactory";
+
+        private final List<ReactPackage> mPackages;
+        @Nullable
+        private final MiniAppBundleLoader mBundleLoader;
+        private final boolean mIsPrimary;
+
+        private ElectrodeReactNativeHost(Application application, List<ReactPackage> packages, @Nullable MiniAppBundleLoader bundleLoader, boolean isPrimary) {
             super(application);
+            mPackages = packages;
+            mBundleLoader = bundleLoader;
+            mIsPrimary = isPrimary;
         }
 
         @Override
@@ -290,13 +697,13 @@ public class ElectrodeReactContainer {
 
         @Override
         protected List<ReactPackage> getPackages() {
-            return sReactPackages;
+            return mPackages;
         }
 
         @Nullable
         @Override
         protected String getBundleAssetName() {
-            return "index.android.bundle";
+            return mBundleLoader != null ? mBundleLoader.getBaseBundle() : MiniAppBundleLoader.SINGLE_BUNDLE;
         }
 
         @Override
@@ -304,40 +711,58 @@ public class ElectrodeReactContainer {
             return "index";
         }
 
+        @Nullable
+        @Override
+        protected JavaScriptExecutorFactory getJavaScriptExecutorFactory() {
+            if (sConfig == null || !sConfig.useHermes) {
+                return null;
+            }
+            // Looked up by reflection, the hermes-engine runtime is an optional dependency provided by the application.
+            try {
+                return (JavaScriptExecutorFactory) Class.forName(HERMES_EXECUTOR_FACTORY).newInstance();
+            } catch (ClassNotFoundException e) {
+                Log.w(TAG, "Hermes is enabled but " + HERMES_EXECUTOR_FACTORY + " was not found, falling back to JSC.");
+            } catch (IllegalAccessException | InstantiationException e) {
+                Log.e(TAG, "Failed to create the Hermes executor factory, falling back to JSC: " + e.getMessage());
+            }
+            return null;
+        }
+
         @Override
         protected ReactInstanceManager createReactInstanceManager() {
             ReactInstanceManager reactInstanceManager = super.createReactInstanceManager();
+            if (!mIsPrimary) {
+                reactInstanceManager.addReactInstanceEventListener(
+                        new ReactInstanceManager.ReactInstanceEventListener() {
+                            @Override
+                            public void onReactContextInitialized(ReactContext context) {
+                                if (mBundleLoader != null && sConfig.prefetchMiniAppBundles) {
+                                    mBundleLoader.prefetchOnIdle();
+                                }
+                            }
+                        });
+                return reactInstanceManager;
+            }
             reactInstanceManager.addReactInstanceEventListener(
                     new ReactInstanceManager.ReactInstanceEventListener() {
                         @Override
                         public void onReactContextInitialized(ReactContext context) {
+                            sStartupReport.end(StartupReport.Phase.ENGINE_START);
+                            sStartupReport.begin(StartupReport.Phase.READY_LISTENERS);
                             sIsReactNativeReady = true;
                             notifyReactNativeReadyListeners();
-                            for (ReactPackage instance : getPackages()) {
-                                try {
-                                    Method onReactNativeInitialized =
-                                            instance.getClass()
-                                                    .getMethod("onReactNativeInitialized");
-                                    onReactNativeInitialized.invoke(instance);
-                                } catch (NoSuchMethodException e) {
-                                    // Expected since not all react packages would have
-                                    // onReactNativeInitialized() method.
-                                } catch (IllegalAccessException e) {
-                                    Log.e(
-                                            TAG,
-                                            "IllegalAccessException: Container Initialization"
-                                                    + " failed: "
-                                                    + e.getMessage());
-                                    e.printStackTrace();
-                                } catch (InvocationTargetException e) {
-                                    Log.e(
-                                            TAG,
-                                            "InvocationTargetException: Container Initialization"
-                                                    + " failed: "
-                                                    + e.getMessage());
-                                    e.printStackTrace();
+                            sPluginLifecycleRunner.run(new PluginLifecycleRunner.Callback() {
+                                @Override
+                                public void onCompleted(@NonNull Map<String, Long> durations) {
+                                    sStartupReport.setPluginDurations(durations);
+                                    sStartupReport.end(StartupReport.Phase.READY_LISTENERS);
+                                    Log.d(TAG, sStartupReport.toString());
                                 }
+                            });
+                            if (mBundleLoader != null && sConfig.prefetchMiniAppBundles) {
+                                mBundleLoader.prefetchOnIdle();
                             }
+                            startSecondaryInstancesOnIdle();
                         }
                     });
             return reactInstanceManager;
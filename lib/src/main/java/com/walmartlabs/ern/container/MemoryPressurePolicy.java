@@ -0,0 +1,220 @@
+/*
+ * Copyright 2020 Walmart Labs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.ern.container;
+
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+import android.os.Bundle;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import com.facebook.drawee.backends.pipeline.Fresco;
+import com.walmartlabs.electrode.reactnative.bridge.ElectrodeBridgeEvent;
+import com.walmartlabs.electrode.reactnative.bridge.ElectrodeBridgeHolder;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Releases memory held by the container when the system asks for it, see {@link ElectrodeReactContainer#getMemoryPressurePolicy()}.
+ * <p>
+ * Each {@link Action} has a level for the trim levels received while the app is in the foreground ({@code TRIM_MEMORY_RUNNING_*})
+ * and one for the levels received once the UI is hidden or the app is in the background, so the higher the level the more is released.
+ * Hiding the UI alone only releases the caches, views are unmounted when the app is in the foreground and memory is critical,
+ * or when the process is in the middle of the background LRU list.
+ * Every run action is logged and counted.
+ */
+public final class MemoryPressurePolicy implements ComponentCallbacks2 {
+    private static final String TAG = MemoryPressurePolicy.class.getSimpleName();
+
+    /**
+     * Event emitted to JS when memory is trimmed, the event data holds the trim level under {@link #KEY_LEVEL}.
+     */
+    public static final String EVENT_TRIM_MEMORY = "com.walmartlabs.ern.container.event.onTrimMemory";
+    public static final String KEY_LEVEL = "level";
+
+    public enum Action {
+        /**
+         * Releases the paged request cursors of the bridge, the decoded nav bar icons, the snapshots of the un-mounted root views
+         * and the memory caches of the react native image pipeline.
+         */
+        RELEASE_CACHES(TRIM_MEMORY_RUNNING_MODERATE, TRIM_MEMORY_UI_HIDDEN),
+        /**
+         * Lets JS know through {@link #EVENT_TRIM_MEMORY}.
+         */
+        NOTIFY_JS(TRIM_MEMORY_RUNNING_MODERATE, TRIM_MEMORY_UI_HIDDEN),
+        /**
+         * Unmounts the pre-warmed react root views, see {@link ElectrodeReactContainer.Config#reactRootViewPool(int)}.
+         */
+        DROP_POOLED_VIEWS(TRIM_MEMORY_RUNNING_LOW, TRIM_MEMORY_BACKGROUND),
+        /**
+         * Unmounts the react root views of the fragments on the back stack of the activities using the container fragment delegates,
+         * they are mounted again when shown. Root views created directly through {@link ElectrodeReactActivityDelegate#createReactRootView(String, Bundle)}
+         * are left mounted as nothing would mount them again.
+         */
+        UNMOUNT_OFF_SCREEN_VIEWS(TRIM_MEMORY_RUNNING_CRITICAL, TRIM_MEMORY_MODERATE);
+
+        // The RUNNING_* levels are lower than the UI_HIDDEN and background ones, they are not on the same scale.
+        private final int mMinRunningLevel;
+        private final int mMinBackgroundLevel;
+
+        Action(int minRunningLevel, int minBackgroundLevel) {
+            mMinRunningLevel = minRunningLevel;
+            mMinBackgroundLevel = minBackgroundLevel;
+        }
+
+        boolean runsAt(int level) {
+            if (level < TRIM_MEMORY_UI_HIDDEN) {
+                return level >= mMinRunningLevel;
+            }
+            return level >= mMinBackgroundLevel;
+        }
+    }
+
+    public interface Releaser {
+        /**
+         * @param level Trim level, see {@link ComponentCallbacks2}.
+         * @return Number of released items
+         */
+        @MainThread
+        int release(int level);
+    }
+
+    private static final Map<Action, List<Releaser>> sReleasers = new EnumMap<>(Action.class);
+
+    static {
+        for (Action action : Action.values()) {
+            sReleasers.put(action, new CopyOnWriteArrayList<Releaser>());
+        }
+    }
+
+    private final Map<Action, Integer> mRunCounts = new EnumMap<>(Action.class);
+    private final Map<Action, Integer> mReleasedCounts = new EnumMap<>(Action.class);
+
+    /**
+     * Adds a releaser run by the given action, releasers are kept for the lifetime of the process.
+     */
+    public static void addReleaser(@NonNull Action action, @NonNull Releaser releaser) {
+        sReleasers.get(action).add(releaser);
+    }
+
+    MemoryPressurePolicy() {
+        addReleaser(Action.RELEASE_CACHES, new Releaser() {
+            @Override
+            public int release(int level) {
+                return ElectrodeBridgeHolder.releaseCaches();
+            }
+        });
+        addReleaser(Action.RELEASE_CACHES, new Releaser() {
+            @Override
+            public int release(int level) {
+                // Initialized by react native, the encoded and decoded image memory caches are cleared.
+                if (!Fresco.hasBeenInitialized()) {
+                    return 0;
+                }
+                Fresco.getImagePipeline().clearMemoryCaches();
+                return 1;
+            }
+        });
+        addReleaser(Action.NOTIFY_JS, new Releaser() {
+            @Override
+            public int release(int level) {
+                if (!ElectrodeReactContainer.isReactNativeReady()) {
+                    return 0;
+                }
+                Bundle data = new Bundle();
+                data.putInt(KEY_LEVEL, level);
+                ElectrodeBridgeHolder.emitEvent(new ElectrodeBridgeEvent.Builder(EVENT_TRIM_MEMORY).withData(data).build());
+                return 1;
+            }
+        });
+        addReleaser(Action.DROP_POOLED_VIEWS, new Releaser() {
+            @Override
+            public int release(int level) {
+                return ReactRootViewPool.clearAll();
+            }
+        });
+    }
+
+    /**
+     * @return Number of times the action ran, an action without any releaser does not run
+     */
+    public synchronized int getRunCount(@NonNull Action action) {
+        Integer count = mRunCounts.get(action);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * @return Number of items released by the action, as reported by its releasers
+     */
+    public synchronized int getReleasedCount(@NonNull Action action) {
+        Integer count = mReleasedCounts.get(action);
+        return count != null ? count : 0;
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        for (Action action : Action.values()) {
+            if (action.runsAt(level)) {
+                run(action, level);
+            }
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        onTrimMemory(TRIM_MEMORY_COMPLETE);
+    }
+
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {
+    }
+
+    private void run(@NonNull Action action, int level) {
+        List<Releaser> releasers = sReleasers.get(action);
+        if (releasers.isEmpty()) {
+            // For ex: no activity uses the container fragment delegates, there are no views to unmount.
+            Log.d(TAG, "onTrimMemory(" + level + "): nothing to release for " + action);
+            return;
+        }
+        int released = 0;
+        for (Releaser releaser : releasers) {
+            try {
+                released += releaser.release(level);
+            } catch (RuntimeException e) {
+                // The other releasers still run.
+                Log.e(TAG, action + " releaser failed: " + e.getMessage());
+            }
+        }
+        synchronized (this) {
+            mRunCounts.put(action, getRunCount(action) + 1);
+            mReleasedCounts.put(action, getReleasedCount(action) + released);
+        }
+        Log.d(TAG, "onTrimMemory(" + level + "): " + action + " released " + released + " item(s)");
+    }
+
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        return "MemoryPressurePolicy{runCounts=" + mRunCounts + ", releasedCounts=" + mReleasedCounts + '}';
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2020 Walmart Labs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.ern.container;
+
+import android.content.Context;
+import android.content.res.AssetManager;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.ReactPackage;
+import com.facebook.react.bridge.CatalystInstance;
+import com.facebook.react.bridge.NativeModule;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.uimanager.ViewManager;
+import com.walmartlabs.ern.container.miniapps.MiniAppBundlesConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads the bundle segment of a mini-app on top of the shared base bundle, see {@link MiniAppBundlesConfig}.
+ * <p>
+ * A segment is loaded before the first root view of one of its components is started. Segments requested before the react context exists are loaded
+ * while the context is set up, ahead of the root views being attached. When split bundles are not configured, or the base bundle is missing,
+ * the container falls back to the single index.android.bundle.
+ */
+final class MiniAppBundleLoader {
+    private static final String TAG = MiniAppBundleLoader.class.getSimpleName();
+
+    static final String SINGLE_BUNDLE = "index.android.bundle";
+
+    private final Context mContext;
+    private final String mBaseBundle;
+    private final Map<String, String> mSegments;
+    // Segments loaded or queued on the JS thread.
+    private final Set<String> mLoadedSegments = new HashSet<>();
+    // Segments requested before the react context was created.
+    private final Set<String> mPendingSegments = new HashSet<>();
+    @Nullable
+    private CatalystInstance mCatalystInstance;
+
+    /**
+     * @return A loader if the mini-apps are packaged as split bundles, null to use the single bundle.
+     */
+    @Nullable
+    static MiniAppBundleLoader create(@NonNull Context context) {
+        String baseBundle = MiniAppBundlesConfig.BASE_BUNDLE;
+        if (baseBundle == null || MiniAppBundlesConfig.MINIAPP_BUNDLES.isEmpty()) {
+            return null;
+        }
+        if (!assetExists(context.getAssets(), baseBundle)) {
+            Log.w(TAG, "Base bundle " + baseBundle + " not found, falling back to " + SINGLE_BUNDLE);
+            return null;
+        }
+        return new MiniAppBundleLoader(context, baseBundle, MiniAppBundlesConfig.MINIAPP_BUNDLES);
+    }
+
+    private MiniAppBundleLoader(@NonNull Context context, @NonNull String baseBundle, @NonNull Map<String, String> segments) {
+        mContext = context.getApplicationContext();
+        mBaseBundle = baseBundle;
+        mSegments = segments;
+    }
+
+    @NonNull
+    String getBaseBundle() {
+        return mBaseBundle;
+    }
+
+    /**
+     * Loads the segment of the given component if it has one and it is not loaded yet.
+     *
+     * @param componentName React native component name
+     */
+    synchronized void ensureLoaded(@NonNull String componentName) {
+        String segment = mSegments.get(componentName);
+        if (segment == null || mLoadedSegments.contains(segment)) {
+            return;
+        }
+        if (mCatalystInstance == null || mCatalystInstance.isDestroyed()) {
+            mPendingSegments.add(segment);
+        } else {
+            load(mCatalystInstance, segment);
+        }
+    }
+
+    /**
+     * Loads the remaining segments one by one when the main thread is idle. Must be called from the main thread.
+     */
+    void prefetchOnIdle() {
+        final Iterator<String> components = new ArrayList<>(mSegments.keySet()).iterator();
+        Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+            @Override
+            public boolean queueIdle() {
+                if (components.hasNext()) {
+                    ensureLoaded(components.next());
+                }
+                return components.hasNext();
+            }
+        });
+    }
+
+    /**
+     * Package that lets the loader know about the catalyst instance before any root view is attached to the new react context.
+     */
+    @NonNull
+    ReactPackage createReactPackage() {
+        return new ReactPackage() {
+            @NonNull
+            @Override
+            public List<NativeModule> createNativeModules(@NonNull ReactApplicationContext reactContext) {
+                return Collections.<NativeModule>singletonList(new SegmentLoaderModule(reactContext));
+            }
+
+            @NonNull
+            @Override
+            public List<ViewManager> createViewManagers(@NonNull ReactApplicationContext reactContext) {
+                return Collections.emptyList();
+            }
+        };
+    }
+
+    private synchronized void onCatalystInstanceInitialized(@NonNull CatalystInstance catalystInstance) {
+        // A reload creates a new instance that starts from the base bundle only, the segments loaded so far are loaded again.
+        if (mCatalystInstance != null && mCatalystInstance != catalystInstance) {
+            mPendingSegments.addAll(mLoadedSegments);
+            mLoadedSegments.clear();
+        }
+        mCatalystInstance = catalystInstance;
+        for (String segment : mPendingSegments) {
+            load(catalystInstance, segment);
+        }
+        mPendingSegments.clear();
+    }
+
+    private void load(@NonNull CatalystInstance catalystInstance, @NonNull String segment) {
+        if (!assetExists(mContext.getAssets(), segment)) {
+            Log.w(TAG, "Bundle segment " + segment + " not found, the component might not be registered");
+            return;
+        }
+        Log.d(TAG, "Loading bundle segment: " + segment);
+        mLoadedSegments.add(segment);
+        // Queued on the JS thread, it runs before any later call to run a component.
+        catalystInstance.loadScriptFromAssets(mContext.getAssets(), "assets://" + segment, false);
+    }
+
+    private static boolean assetExists(@NonNull AssetManager assets, @NonNull String name) {
+        try {
+            InputStream stream = assets.open(name);
+            stream.close();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private class SegmentLoaderModule extends ReactContextBaseJavaModule {
+        SegmentLoaderModule(@NonNull ReactApplicationContext reactContext) {
+            super(reactContext);
+        }
+
+        @NonNull
+        @Override
+        public String getName() {
+            return "ErnMiniAppBundleLoader";
+        }
+
+        @Override
+        public void initialize() {
+            super.initialize();
+            ReactContext reactContext = getReactApplicationContext();
+            onCatalystInstanceInitialized(reactContext.getCatalystInstance());
+        }
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2020 Walmart Labs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.ern.container;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.ReactPackage;
+import com.walmartlabs.ern.container.plugins.LifecycleReactPlugin;
+import com.walmartlabs.ern.container.plugins.ReactPlugin;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the react native initialized hooks of the plugins and packages, following the dependencies declared by {@link LifecycleReactPlugin}s.
+ * <p>
+ * The graph and the legacy {@code onReactNativeInitialized()} package methods are resolved when the container is initialized.
+ * Legacy package methods run on the main thread in the order of the packages, as they did before.
+ */
+final class PluginLifecycleRunner {
+    private static final String TAG = PluginLifecycleRunner.class.getSimpleName();
+
+    private static final int MAX_POOL_SIZE = 4;
+
+    interface Callback {
+        /**
+         * Called on the thread of the last completed hook once all the hooks ran.
+         *
+         * @param durations Duration of each hook in milliseconds, keyed by plugin or package class name, suffixed with #index when a class is used more than once.
+         */
+        void onCompleted(@NonNull Map<String, Long> durations);
+    }
+
+    private static final class Node {
+        final String name;
+        final boolean runOnMainThread;
+        @Nullable
+        final LifecycleReactPlugin<?> plugin;
+        @Nullable
+        final ReactPackage reactPackage;
+        @Nullable
+        final Method legacyMethod;
+        final List<Node> dependents = new ArrayList<>();
+        int dependencyCount;
+
+        Node(@NonNull String name, boolean runOnMainThread, @Nullable LifecycleReactPlugin<?> plugin, @Nullable ReactPackage reactPackage, @Nullable Method legacyMethod) {
+            this.name = name;
+            this.runOnMainThread = runOnMainThread;
+            this.plugin = plugin;
+            this.reactPackage = reactPackage;
+            this.legacyMethod = legacyMethod;
+        }
+    }
+
+    private final List<Node> mNodes = new ArrayList<>();
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * @param plugins  Lifecycle plugins of the container.
+     * @param packages Packages created by the container, the ones created by a lifecycle plugin are notified through the plugin.
+     * @throws IllegalArgumentException if the plugin dependencies have a cycle.
+     */
+    PluginLifecycleRunner(@NonNull Map<LifecycleReactPlugin<?>, ReactPackage> plugins, @NonNull List<ReactPackage> packages) {
+        Map<Class<?>, Node> pluginNodes = new HashMap<>();
+        for (LifecycleReactPlugin<?> plugin : plugins.keySet()) {
+            Node node = new Node(plugin.getClass().getName(), plugin.threadRequirement() == LifecycleReactPlugin.ThreadRequirement.MAIN, plugin, null, null);
+            pluginNodes.put(plugin.getClass(), node);
+            mNodes.add(node);
+        }
+        for (Node node : pluginNodes.values()) {
+            for (Class<? extends ReactPlugin> dependency : node.plugin.dependencies()) {
+                Node dependencyNode = pluginNodes.get(dependency);
+                if (dependencyNode == null) {
+                    Log.w(TAG, node.name + " depends on " + dependency.getName() + " which is not part of the container, ignoring the dependency.");
+                } else if (!dependencyNode.dependents.contains(node)) {
+                    dependencyNode.dependents.add(node);
+                    node.dependencyCount++;
+                }
+            }
+        }
+        throwIfCyclic();
+
+        // Legacy packages are chained so that they keep running one after another.
+        Node previous = null;
+        for (ReactPackage reactPackage : packages) {
+            if (plugins.containsValue(reactPackage)) {
+                continue;
+            }
+            Method method = findLegacyMethod(reactPackage);
+            if (method != null) {
+                Node node = new Node(reactPackage.getClass().getName(), true, null, reactPackage, method);
+                if (previous != null) {
+                    previous.dependents.add(node);
+                    node.dependencyCount++;
+                }
+                mNodes.add(node);
+                previous = node;
+            }
+        }
+    }
+
+    /**
+     * Runs all the hooks, a hook runs once all its dependencies completed.
+     * Each run keeps its own state, a run started on a react context reload does not affect a run still in progress.
+     */
+    void run(@NonNull final Callback callback) {
+        if (mNodes.isEmpty()) {
+            callback.onCompleted(new HashMap<String, Long>());
+            return;
+        }
+        final Runner runner = new Runner(createExecutor(), callback);
+        for (Node node : mNodes) {
+            if (node.dependencyCount == 0) {
+                runner.dispatch(node);
+            }
+        }
+    }
+
+    private final class Runner {
+        private final ExecutorService mExecutor;
+        private final Map<Node, AtomicInteger> mPendingDependencies = new HashMap<>();
+        // Keyed by node, packages of the same class each keep their own duration.
+        private final Map<Node, Long> mDurations = new HashMap<>();
+        private final AtomicInteger mRemaining = new AtomicInteger(mNodes.size());
+        private final Callback mCallback;
+
+        Runner(@NonNull ExecutorService executor, @NonNull Callback callback) {
+            mExecutor = executor;
+            mCallback = callback;
+            // Filled before any hook is dispatched and only read afterwards.
+            for (Node node : mNodes) {
+                mPendingDependencies.put(node, new AtomicInteger(node.dependencyCount));
+            }
+        }
+
+        void dispatch(@NonNull final Node node) {
+            Runnable task = new Runnable() {
+                @Override
+                public void run() {
+                    execute(node);
+                }
+            };
+            if (node.runOnMainThread) {
+                if (Looper.myLooper() == Looper.getMainLooper()) {
+                    task.run();
+                } else {
+                    mMainHandler.post(task);
+                }
+            } else {
+                mExecutor.execute(task);
+            }
+        }
+
+        private void execute(@NonNull Node node) {
+            long start = SystemClock.uptimeMillis();
+            try {
+                if (node.plugin != null) {
+                    node.plugin.onReactNativeInitialized();
+                } else if (node.legacyMethod != null) {
+                    node.legacyMethod.invoke(node.reactPackage);
+                }
+            } catch (IllegalAccessException e) {
+                Log.e(TAG, "IllegalAccessException: Container Initialization failed: " + e.getMessage());
+                e.printStackTrace();
+            } catch (InvocationTargetException e) {
+                Log.e(TAG, "InvocationTargetException: Container Initialization failed: " + e.getMessage());
+                e.printStackTrace();
+            } catch (RuntimeException e) {
+                // Dependents still run, a failing plugin should not block the others.
+                Log.e(TAG, node.name + ".onReactNativeInitialized() failed: " + e.getMessage());
+                e.printStackTrace();
+            }
+            long duration = SystemClock.uptimeMillis() - start;
+
+            synchronized (mDurations) {
+                mDurations.put(node, duration);
+            }
+            for (Node dependent : node.dependents) {
+                if (mPendingDependencies.get(dependent).decrementAndGet() == 0) {
+                    dispatch(dependent);
+                }
+            }
+            if (mRemaining.decrementAndGet() == 0) {
+                mExecutor.shutdown();
+                mCallback.onCompleted(namedDurations());
+            }
+        }
+
+        // Names are made unique with a #index suffix when several packages share a class.
+        @NonNull
+        private Map<String, Long> namedDurations() {
+            Map<String, Long> durations = new LinkedHashMap<>();
+            synchronized (mDurations) {
+                for (Node node : mNodes) {
+                    String name = node.name;
+                    for (int i = 2; durations.containsKey(name); i++) {
+                        name = node.name + "#" + i;
+                    }
+                    durations.put(name, mDurations.get(node));
+                }
+            }
+            return durations;
+        }
+    }
+
+    private void throwIfCyclic() {
+        // Kahn's algorithm, the nodes left with dependencies are part of a cycle.
+        Map<Node, Integer> pending = new HashMap<>();
+        List<Node> ready = new ArrayList<>();
+        for (Node node : mNodes) {
+            pending.put(node, node.dependencyCount);
+            if (node.dependencyCount == 0) {
+                ready.add(node);
+            }
+        }
+        int visited = 0;
+        while (!ready.isEmpty()) {
+            Node node = ready.remove(ready.size() - 1);
+            visited++;
+            for (Node dependent : node.dependents) {
+                int count = pending.get(dependent) - 1;
+                pending.put(dependent, count);
+                if (count == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (visited != mNodes.size()) {
+            List<String> cycle = new ArrayList<>();
+            for (Map.Entry<Node, Integer> entry : pending.entrySet()) {
+                if (entry.getValue() > 0) {
+                    cycle.add(entry.getKey().name);
+                }
+            }
+            throw new IllegalArgumentException("Plugin dependencies have a cycle between: " + cycle);
+        }
+    }
+
+    @Nullable
+    private static Method findLegacyMethod(@NonNull ReactPackage reactPackage) {
+        try {
+            return reactPackage.getClass().getMethod("onReactNativeInitialized");
+        } catch (NoSuchMethodException e) {
+            // Expected since not all react packages would have onReactNativeInitialized() method.
+            return null;
+        }
+    }
+
+    @NonNull
+    private static ExecutorService createExecutor() {
+        int poolSize = Math.max(1, Math.min(MAX_POOL_SIZE, Runtime.getRuntime().availableProcessors() - 1));
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            private final AtomicInteger mCount = new AtomicInteger();
+
+            @Override
+            public Thread newThread(@NonNull Runnable r) {
+                Thread thread = new Thread(r, "ern-plugin-init-" + mCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
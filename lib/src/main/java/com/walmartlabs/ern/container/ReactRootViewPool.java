@@ -0,0 +1,200 @@
+/*
+ * Copyright 2020 Walmart Labs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.ern.container;
+
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.ReactRootView;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Pool of react root views that are created and started ahead of time, see {@link ElectrodeReactContainer.Config#reactRootViewPool(int)}.
+ * <p>
+ * Views are pre-warmed for the components declared by {@link ElectrodeReactActivityDelegate#prewarmReactRootView(String)}, and for the component
+ * that most often followed the one just shown. A pooled view is handed out once, the oldest pooled view is unmounted when the pool is full.
+ */
+@MainThread
+final class ReactRootViewPool {
+    private static final String TAG = ReactRootViewPool.class.getSimpleName();
+
+    // Number of times a component should have followed another one before it is predicted.
+    private static final int MIN_OBSERVATIONS = 2;
+
+    // Navigation history shared by all the pools, counts of the components shown after a component.
+    private static final Map<String, Map<String, Integer>> sTransitions = new HashMap<>();
+    @Nullable
+    private static String sLastComponent;
+    private static final Set<ReactRootViewPool> sPools = Collections.newSetFromMap(new WeakHashMap<ReactRootViewPool, Boolean>());
+
+    interface Factory {
+        /**
+         * @param componentName React native component name
+         * @return A root view started with the given component, not attached to a window.
+         */
+        @NonNull
+        ReactRootView createStartedRootView(@NonNull String componentName);
+    }
+
+    private final int mMaxViews;
+    private final Factory mFactory;
+    // Oldest pooled view first.
+    private final LinkedHashMap<String, ReactRootView> mViews = new LinkedHashMap<>();
+    @Nullable
+    private MessageQueue.IdleHandler mPendingPrediction;
+
+    ReactRootViewPool(int maxViews, @NonNull Factory factory) {
+        mMaxViews = maxViews;
+        mFactory = factory;
+        sPools.add(this);
+    }
+
+    /**
+     * Clears all the pools, see {@link MemoryPressurePolicy.Action#DROP_POOLED_VIEWS}.
+     *
+     * @return Number of unmounted views
+     */
+    static int clearAll() {
+        int count = 0;
+        for (ReactRootViewPool pool : sPools) {
+            count += pool.size();
+            pool.clear();
+        }
+        return count;
+    }
+
+    /**
+     * Creates and starts a root view for the component if none is pooled.
+     */
+    void prewarm(@NonNull String componentName) {
+        if (mViews.containsKey(componentName)) {
+            return;
+        }
+        Log.d(TAG, "Pre-warming react root view: " + componentName);
+        mViews.put(componentName, mFactory.createStartedRootView(componentName));
+        trim();
+    }
+
+    /**
+     * Removes the pooled view of the component from the pool.
+     *
+     * @return The pooled view or null if there is none.
+     */
+    @Nullable
+    ReactRootView acquire(@NonNull String componentName) {
+        ReactRootView rootView = mViews.remove(componentName);
+        if (rootView != null) {
+            Log.d(TAG, "Using pre-warmed react root view: " + componentName);
+        }
+        return rootView;
+    }
+
+    /**
+     * Records that the component is shown and pre-warms its most likely successor once the main thread is idle.
+     */
+    void onComponentShown(@NonNull String componentName) {
+        recordTransition(componentName);
+        if (mPendingPrediction != null) {
+            Looper.myQueue().removeIdleHandler(mPendingPrediction);
+        }
+        final String next = predictNext(componentName);
+        if (next == null || mViews.containsKey(next)) {
+            mPendingPrediction = null;
+            return;
+        }
+        mPendingPrediction = new MessageQueue.IdleHandler() {
+            @Override
+            public boolean queueIdle() {
+                mPendingPrediction = null;
+                prewarm(next);
+                return false;
+            }
+        };
+        Looper.myQueue().addIdleHandler(mPendingPrediction);
+    }
+
+    int size() {
+        return mViews.size();
+    }
+
+    /**
+     * Unmounts and removes all the pooled views.
+     */
+    void clear() {
+        if (mPendingPrediction != null) {
+            Looper.myQueue().removeIdleHandler(mPendingPrediction);
+            mPendingPrediction = null;
+        }
+        for (ReactRootView rootView : mViews.values()) {
+            rootView.unmountReactApplication();
+        }
+        mViews.clear();
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<String, ReactRootView>> iterator = mViews.entrySet().iterator();
+        while (mViews.size() > mMaxViews && iterator.hasNext()) {
+            Map.Entry<String, ReactRootView> entry = iterator.next();
+            iterator.remove();
+            Log.d(TAG, "React root view pool(" + mMaxViews + ") is full, un-mounting: " + entry.getKey());
+            entry.getValue().unmountReactApplication();
+        }
+    }
+
+    private static void recordTransition(@NonNull String componentName) {
+        if (sLastComponent != null && !sLastComponent.equals(componentName)) {
+            Map<String, Integer> next = sTransitions.get(sLastComponent);
+            if (next == null) {
+                next = new HashMap<>();
+                sTransitions.put(sLastComponent, next);
+            }
+            Integer count = next.get(componentName);
+            next.put(componentName, count == null ? 1 : count + 1);
+        }
+        sLastComponent = componentName;
+    }
+
+    @Nullable
+    private static String predictNext(@NonNull String componentName) {
+        Map<String, Integer> next = sTransitions.get(componentName);
+        if (next == null) {
+            return null;
+        }
+        String prediction = null;
+        int max = MIN_OBSERVATIONS - 1;
+        for (Map.Entry<String, Integer> entry : next.entrySet()) {
+            if (entry.getValue() > max) {
+                max = entry.getValue();
+                prediction = entry.getKey();
+            }
+        }
+        return prediction;
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2020 Walmart Labs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.ern.container;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.ReactMarker;
+import com.facebook.react.bridge.ReactMarkerConstants;
+import com.facebook.systrace.Systrace;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Timeline of the container startup, see {@link ElectrodeReactContainer#getStartupReport()}.
+ * <p>
+ * Times are {@link SystemClock#uptimeMillis()} values. Each phase is also emitted as a systrace async section named after the phase.
+ */
+public final class StartupReport {
+
+    public static final long NOT_RECORDED = -1;
+
+    public enum Phase {
+        /**
+         * {@code SoLoader.init}
+         */
+        SO_LOADER_INIT,
+        /**
+         * Creation of the react native host.
+         */
+        HOST_CREATION,
+        /**
+         * Creation of the react packages added by the container.
+         */
+        PACKAGE_CREATION,
+        /**
+         * From the engine start until the react context is initialized.
+         */
+        ENGINE_START,
+        /**
+         * Creation of the react context, reported by react native.
+         */
+        CREATE_REACT_CONTEXT,
+        /**
+         * Processing of the react packages, reported by react native.
+         */
+        PROCESS_PACKAGES,
+        /**
+         * Creation of the catalyst instance, reported by react native.
+         */
+        CREATE_CATALYST_INSTANCE,
+        /**
+         * Loading, parsing and executing the JS bundle, reported by react native.
+         */
+        RUN_JS_BUNDLE,
+        /**
+         * Notifying the react native ready listeners and the packages.
+         */
+        READY_LISTENERS,
+        /**
+         * From the creation of the first react root view until its content appeared.
+         */
+        FIRST_RENDER
+    }
+
+    private final long[] mStartTimes = new long[Phase.values().length];
+    private final long[] mEndTimes = new long[Phase.values().length];
+    private Map<String, Long> mPluginDurations = Collections.emptyMap();
+
+    private final ReactMarker.MarkerListener mMarkerListener = new ReactMarker.MarkerListener() {
+        @Override
+        public void logMarker(ReactMarkerConstants name, @Nullable String tag, int instanceKey) {
+            onMarker(name);
+        }
+    };
+
+    StartupReport() {
+        Arrays.fill(mStartTimes, NOT_RECORDED);
+        Arrays.fill(mEndTimes, NOT_RECORDED);
+    }
+
+    /**
+     * @return Start time of the phase or {@link #NOT_RECORDED}
+     */
+    public synchronized long getStartTime(@NonNull Phase phase) {
+        return mStartTimes[phase.ordinal()];
+    }
+
+    /**
+     * @return End time of the phase or {@link #NOT_RECORDED}
+     */
+    public synchronized long getEndTime(@NonNull Phase phase) {
+        return mEndTimes[phase.ordinal()];
+    }
+
+    /**
+     * @return Duration of the phase in milliseconds or {@link #NOT_RECORDED} if the phase did not complete yet.
+     */
+    public synchronized long getDuration(@NonNull Phase phase) {
+        long start = mStartTimes[phase.ordinal()];
+        long end = mEndTimes[phase.ordinal()];
+        return start != NOT_RECORDED && end != NOT_RECORDED ? end - start : NOT_RECORDED;
+    }
+
+    /**
+     * @return Duration in milliseconds of the react native initialized hook of each plugin and package, keyed by class name.
+     */
+    @NonNull
+    public synchronized Map<String, Long> getPluginDurations() {
+        return mPluginDurations;
+    }
+
+    /**
+     * @return true once the first react root view content appeared.
+     */
+    public synchronized boolean isComplete() {
+        return mEndTimes[Phase.FIRST_RENDER.ordinal()] != NOT_RECORDED;
+    }
+
+    /**
+     * Records the start of a phase, only the first start of a phase is recorded.
+     */
+    synchronized void begin(@NonNull Phase phase) {
+        int index = phase.ordinal();
+        if (mStartTimes[index] == NOT_RECORDED) {
+            mStartTimes[index] = SystemClock.uptimeMillis();
+            Systrace.beginAsyncSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, phase.name(), index);
+        }
+    }
+
+    /**
+     * Records the end of a started phase, only the first end of a phase is recorded.
+     */
+    synchronized void end(@NonNull Phase phase) {
+        int index = phase.ordinal();
+        if (mStartTimes[index] != NOT_RECORDED && mEndTimes[index] == NOT_RECORDED) {
+            mEndTimes[index] = SystemClock.uptimeMillis();
+            Systrace.endAsyncSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, phase.name(), index);
+        }
+    }
+
+    synchronized void setPluginDurations(@NonNull Map<String, Long> durations) {
+        mPluginDurations = Collections.unmodifiableMap(durations);
+    }
+
+    void startListeningToReactMarkers() {
+        ReactMarker.addListener(mMarkerListener);
+    }
+
+    private void onMarker(@NonNull ReactMarkerConstants name) {
+        switch (name) {
+            case CREATE_REACT_CONTEXT_START:
+                begin(Phase.CREATE_REACT_CONTEXT);
+                break;
+            case CREATE_REACT_CONTEXT_END:
+                end(Phase.CREATE_REACT_CONTEXT);
+                break;
+            case PROCESS_PACKAGES_START:
+                begin(Phase.PROCESS_PACKAGES);
+                break;
+            case PROCESS_PACKAGES_END:
+                end(Phase.PROCESS_PACKAGES);
+                break;
+            case CREATE_CATALYST_INSTANCE_START:
+                begin(Phase.CREATE_CATALYST_INSTANCE);
+                break;
+            case CREATE_CATALYST_INSTANCE_END:
+                end(Phase.CREATE_CATALYST_INSTANCE);
+                break;
+            case RUN_JS_BUNDLE_START:
+                begin(Phase.RUN_JS_BUNDLE);
+                break;
+            case RUN_JS_BUNDLE_END:
+                end(Phase.RUN_JS_BUNDLE);
+                break;
+            case CONTENT_APPEARED:
+                end(Phase.FIRST_RENDER);
+                // Startup is over, stop listening to the markers of later root views.
+                ReactMarker.removeListener(mMarkerListener);
+                break;
+            default:
+                break;
+        }
+    }
+
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder("StartupReport{");
+        for (Phase phase : Phase.values()) {
+            sb.append('\n').append(phase.name()).append('=').append(getDuration(phase)).append("ms");
+        }
+        for (Map.Entry<String, Long> plugin : mPluginDurations.entrySet()) {
+            sb.append('\n').append(plugin.getKey()).append('=').append(plugin.getValue()).append("ms");
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2020 Walmart Labs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.ern.container.miniapps;
+
+//
+// GENERATED CODE: DO NOT MODIFY
+//
+
+import java.util.HashMap;
+
+public class MiniAppBundlesConfig {
+    /**
+     * Asset name of the bundle shared by all the mini-apps.
+     * Null when the mini-apps are packaged in the single index.android.bundle.
+     */
+    public static final String BASE_BUNDLE = null;
+
+    /**
+     * Asset name of the bundle segment of each mini-app component, loaded on top of {@link #BASE_BUNDLE}.
+     */
+    public static final HashMap<String, String> MINIAPP_BUNDLES = new HashMap<>();
+}
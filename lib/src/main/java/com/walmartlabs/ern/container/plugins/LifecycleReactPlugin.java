@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 Walmart Labs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.ern.container.plugins;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+
+/**
+ * A {@link ReactPlugin} that is notified once react native is initialized.
+ * <p>
+ * Hooks of plugins that do not depend on each other run in parallel, a plugin hook runs once the hooks of all its dependencies completed.
+ */
+public interface LifecycleReactPlugin<T extends ReactPluginConfig> extends ReactPlugin<T> {
+
+    enum ThreadRequirement {
+        /**
+         * The hook runs on the main thread.
+         */
+        MAIN,
+        /**
+         * The hook runs on a background thread of the plugin pool.
+         */
+        ANY
+    }
+
+    /**
+     * @return Plugins whose hook needs to complete before the hook of this plugin runs. Dependencies that are not part of the container are ignored.
+     */
+    @NonNull
+    List<Class<? extends ReactPlugin>> dependencies();
+
+    /**
+     * @return Thread on which {@link #onReactNativeInitialized()} is called.
+     */
+    @NonNull
+    ThreadRequirement threadRequirement();
+
+    /**
+     * Called once the react native context is initialized.
+     */
+    void onReactNativeInitialized();
+}